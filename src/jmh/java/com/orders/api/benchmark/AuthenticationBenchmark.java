@@ -0,0 +1,74 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.configuration.security.CachingPasswordEncoder;
+import com.orders.api.configuration.security.Role;
+import com.orders.api.configuration.security.TokenService;
+import com.orders.api.configuration.security.UserAdapter;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication costs: a full BCrypt check at the strength the application
+ * configures, the cached check and bearer-token verification that replace it, and the
+ * authority lookup done on every authorization decision.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark
+{
+    private static final String PASSWORD = "1234";
+
+    @Param("10") // new BCryptPasswordEncoder() in SecurityConfig
+    int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private CachingPasswordEncoder cachingEncoder;
+    private String encoded;
+    private UserAdapter userAdapter;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        encoded = bcrypt.encode(PASSWORD);
+        cachingEncoder = new CachingPasswordEncoder(bcrypt, Duration.ofMinutes(5), 10_000);
+        cachingEncoder.matches(PASSWORD, encoded); // warm entry, every measured call is a hit
+
+        userAdapter = new UserAdapter(Fixtures.user(Role.WAITER));
+        tokenService = new TokenService("", Duration.ofMinutes(15));
+        token = tokenService.issue(userAdapter.getUser());
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public boolean cachedMatches() {
+        return cachingEncoder.matches(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public Optional<UserAdapter> verifyToken() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userAdapter.getAuthorities();
+    }
+}
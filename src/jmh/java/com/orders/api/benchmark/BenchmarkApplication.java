@@ -0,0 +1,30 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.OrdersApiApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the whole application on the in-memory H2 database of the {@code loadtest} profile, for
+ * benchmarks that have to go through Hibernate and JDBC.
+ */
+final class BenchmarkApplication
+{
+    private BenchmarkApplication() {
+    }
+
+    /** {@code default} stands for no profile beyond {@code loadtest}. */
+    static ConfigurableApplicationContext start(String... profiles) {
+        List<String> active = new ArrayList<>(List.of("loadtest"));
+        Arrays.stream(profiles).filter(x -> !x.equals("default")).forEach(active::add);
+        return new SpringApplicationBuilder(OrdersApiApplication.class)
+                .profiles(active.toArray(String[]::new))
+                .properties("server.port=0")
+                .run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.model.Karaoke;
+import com.orders.api.repository.KaraokeRepository;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The best-fit room query of {@link KaraokeRepository#findBestFit(int, Pageable)} against a real
+ * database at growing inventory sizes; served by {@code idx_karaoke_booked_seats}, its latency
+ * should not grow with the number of rooms. Runs on the H2 database of the {@code loadtest}
+ * profile; for MySQL pass {@code -jvmArgs "-Dspring.datasource.url=... -Dspring.datasource.username=...
+ * -Dspring.datasource.password=... -Dspring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BestFitQueryBenchmark
+{
+    // clear of the rows the application seeds itself
+    private static final long FIRST_ID = 1_000_000;
+
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    @Param({"2", "6", "12"})
+    int peopleCount;
+
+    private ConfigurableApplicationContext context;
+    private KaraokeRepository karaokeRepository;
+    private JdbcTemplate jdbcTemplate;
+    private final Pageable first = PageRequest.of(0, 1);
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start("default");
+        karaokeRepository = context.getBean(KaraokeRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> rows = Fixtures.rooms(rooms).stream()
+                .map(x -> new Object[]{FIRST_ID + x.getKaraoke_id(), FIRST_ID + x.getKaraoke_id(), x.getSeats(), x.getBooked()})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO karaoke(karaoke_id,room_num,seats,booked,version) VALUES (?,?,?,?,0)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        jdbcTemplate.update("DELETE FROM karaoke WHERE karaoke_id > ?", FIRST_ID);
+        context.close();
+    }
+
+    @Benchmark
+    public List<Karaoke> findBestFit() {
+        return karaokeRepository.findBestFit(peopleCount, first);
+    }
+}
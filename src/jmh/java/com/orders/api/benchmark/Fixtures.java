@@ -0,0 +1,68 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.configuration.security.Role;
+import com.orders.api.model.Karaoke;
+import com.orders.api.model.Order;
+import com.orders.api.model.RealTable;
+import com.orders.api.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic entities shared by the benchmarks, shaped like the rows the service reads.
+ */
+final class Fixtures
+{
+    private static final LocalDateTime START = LocalDateTime.parse("2024-12-12T12:00:00");
+
+    private Fixtures() {
+    }
+
+    static List<Order> orders(int count) {
+        User user = user(Role.USER);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            orders.add(Order.builder()
+                    .order_id((long) i)
+                    .user(user)
+                    .timestamp(START.plusMinutes(15L * i))
+                    .people_count(1 + i % 6)
+                    .status(i % 3 == 0)
+                    .karaoke(i % 2 == 0 ? karaoke(i, 2 + i % 8, true) : null)
+                    .realTable(i % 2 == 0 ? null : table(i, 2 + i % 8, true))
+                    .build());
+        }
+        return orders;
+    }
+
+    /** Seat counts 2..12, about a third of the rooms already booked. */
+    static List<Karaoke> rooms(int count) {
+        Random random = new Random(42);
+        List<Karaoke> rooms = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rooms.add(karaoke(i, 2 + random.nextInt(11), random.nextInt(3) == 0));
+        }
+        return rooms;
+    }
+
+    static Karaoke karaoke(long id, int seats, boolean booked) {
+        return Karaoke.builder().karaoke_id(id).room_num((int) id).seats(seats).booked(booked).build();
+    }
+
+    static RealTable table(long id, int seats, boolean booked) {
+        return RealTable.builder().table_id(id).table_num((int) id).seats(seats).booked(booked).build();
+    }
+
+    static User user(Role role) {
+        return User.builder()
+                .user_id(1L)
+                .name("Bench")
+                .email("bench@gmail.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.model.Karaoke;
+import com.orders.api.repository.KaraokeRepository;
+import com.orders.api.repository.RealTableRepository;
+import com.orders.api.service.SeatInventory;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finding a free room for a party: the original scan over every room versus the seat index of
+ * {@link SeatInventory}, at growing inventory sizes. The index is measured as claim plus release
+ * so its state stays the same between invocations; its repositories answer from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryBenchmark
+{
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    @Param({"2", "6", "12"})
+    int peopleCount;
+
+    private List<Karaoke> inventory;
+    private SeatInventory seatInventory;
+
+    @Setup
+    public void setUp() {
+        inventory = Fixtures.rooms(rooms);
+        Map<Long, Karaoke> byId = inventory.stream()
+                .collect(Collectors.toMap(Karaoke::getKaraoke_id, Function.identity()));
+
+        KaraokeRepository karaokeRepository = repository(KaraokeRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> inventory;
+            case "markBooked" -> 1;
+            case "findById" -> Optional.ofNullable(byId.get((Long) args[0]));
+            default -> throw new UnsupportedOperationException(method);
+        });
+        RealTableRepository realTableRepository = repository(RealTableRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> List.of();
+            default -> throw new UnsupportedOperationException(method);
+        });
+        seatInventory = new SeatInventory(karaokeRepository, realTableRepository);
+        seatInventory.load();
+    }
+
+    @Benchmark
+    public Optional<Karaoke> linearScan() {
+        return inventory.stream()
+                .filter(x -> !x.getBooked() && x.getSeats() >= peopleCount)
+                .min(Comparator.comparing(Karaoke::getSeats).thenComparing(Karaoke::getKaraoke_id));
+    }
+
+    @Benchmark
+    public Optional<Karaoke> seatIndexClaimAndRelease() {
+        Optional<Karaoke> karaoke = seatInventory.claimKaraoke(peopleCount);
+        karaoke.ifPresent(seatInventory::releaseKaraoke);
+        return karaoke;
+    }
+
+    private interface Answer
+    {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T repository(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer.answer(method.getName(), args)));
+    }
+}
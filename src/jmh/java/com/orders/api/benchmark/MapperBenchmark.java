@@ -0,0 +1,45 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.configuration.Mapper;
+import com.orders.api.model.Order;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done for every order in the listing and history endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark
+{
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = Fixtures.orders(100);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void mapToOrderDTO(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(Mapper.mapToOrderDTO(order));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void mapToOrderHistory(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(Mapper.mapToOrderHistory(order));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.orders.api.benchmark;
+
+import com.orders.api.model.Order;
+import com.orders.api.repository.OrderRepository;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting a block of orders in one transaction: IDENTITY ids, one INSERT per row (default
+ * profile), against pooled-lo ids with JDBC batching (batch profile). H2 has no network round
+ * trip, so the gap against MySQL is larger than measured here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderInsertBenchmark
+{
+    private static final LocalDateTime START = LocalDateTime.parse("2024-12-12T12:00:00");
+
+    @Param({"default", "batch"})
+    String profile;
+
+    @Param({"100"})
+    int orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transaction;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(profile);
+        orderRepository = context.getBean(OrderRepository.class);
+        transaction = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Order> saveAll() {
+        List<Order> block = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            block.add(Order.builder()
+                    .timestamp(START.plusMinutes(i))
+                    .people_count(1 + i % 6)
+                    .status(false)
+                    .build());
+        }
+        return transaction.execute(status -> orderRepository.saveAll(block));
+    }
+}
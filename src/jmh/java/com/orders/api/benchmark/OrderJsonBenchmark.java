@@ -0,0 +1,85 @@
+package com.orders.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orders.api.configuration.Mapper;
+import com.orders.api.configuration.json.OrderJsonSerializers;
+import com.orders.api.dto.response.OrderDTO;
+import com.orders.api.model.Order;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of an {@code /orders} page with the same mapper settings Spring Boot applies:
+ * reflective bean serialization against the hand-written {@link OrderJsonSerializers}, with and
+ * without the entity-to-DTO mapping. Compare {@code gc.alloc.rate.norm} from {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJsonBenchmark
+{
+    @Param({"10", "50", "1000"})
+    int size;
+
+    private ObjectWriter writer;
+    private ObjectWriter directWriter;
+    private ObjectWriter entityWriter;
+    private List<Order> orders;
+    private List<OrderDTO> page;
+
+    @Setup
+    public void setUp() {
+        writer = mapper().build().writerFor(new TypeReference<List<OrderDTO>>() {});
+        directWriter = mapper().modulesToInstall(OrderJsonSerializers.module()).build()
+                .writerFor(new TypeReference<List<OrderDTO>>() {});
+        entityWriter = mapper().modulesToInstall(OrderJsonSerializers.module()).build()
+                .writerFor(new TypeReference<List<Order>>() {});
+        orders = Fixtures.orders(size);
+        page = orders.stream().map(Mapper::mapToOrderDTO).toList();
+    }
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] writeOrderPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeOrderPageDirect() throws JsonProcessingException {
+        return directWriter.writeValueAsBytes(page);
+    }
+
+    /** The {@code /orders} path before the direct serializers: map every row, then reflect. */
+    @Benchmark
+    public byte[] mapAndWriteOrders() throws JsonProcessingException {
+        return writer.writeValueAsBytes(orders.stream().map(Mapper::mapToOrderDTO).toList());
+    }
+
+    /** The {@code /orders} path today. */
+    @Benchmark
+    public byte[] mapAndWriteOrdersDirect() throws JsonProcessingException {
+        return directWriter.writeValueAsBytes(orders.stream().map(Mapper::mapToOrderDTO).toList());
+    }
+
+    /** The export path: no DTOs at all. */
+    @Benchmark
+    public byte[] writeOrderEntities() throws JsonProcessingException {
+        return entityWriter.writeValueAsBytes(orders);
+    }
+}
@@ -0,0 +1,53 @@
+package com.orders.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microsecond resolution, up to a minute, 3 significant digits) and error
+ * count of one endpoint.
+ */
+final class EndpointStats
+{
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long startNanos, boolean ok) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        latency.recordValue(Math.min(micros, latency.getHighestTrackableValue()));
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> summary(Duration measured) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", latency.getTotalCount());
+        summary.put("errors", errors.sum());
+        summary.put("throughput_per_s", latency.getTotalCount() * 1000.0 / measured.toMillis());
+        summary.put("p50_ms", millis(latency.getValueAtPercentile(50)));
+        summary.put("p99_ms", millis(latency.getValueAtPercentile(99)));
+        summary.put("p999_ms", millis(latency.getValueAtPercentile(99.9)));
+        summary.put("max_ms", millis(latency.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
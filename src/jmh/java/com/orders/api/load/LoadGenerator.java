@@ -0,0 +1,283 @@
+package com.orders.api.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orders.api.OrdersApiApplication;
+import com.orders.api.service.ReservationSchedule;
+import com.orders.api.service.SeatInventory;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop HTTP load test: boots the application on an in-memory H2 database (profile
+ * {@code loadtest}, plus any given {@code profiles}), seeds rooms, tables and users, then lets
+ * {@code concurrency} clients run a mixed workload over the real HTTP and security stack.
+ * Per-endpoint latency percentiles and throughput go to stdout and to the {@code report} file.
+ * <p>
+ * Arguments are {@code key=value}: concurrency (64), duration (60s), warmup (10s), profiles
+ * (none, comma separated, e.g. {@code virtual}), rooms (500), tables (500), batch (0: order
+ * creation goes to {@code /order/create}; n: it books n orders per call to {@code /orders/batch}),
+ * report (none).
+ * Being closed-loop, latencies are service times under the given concurrency, not under a
+ * fixed arrival rate.
+ */
+public class LoadGenerator
+{
+    private static final String PASSWORD = "load-1234";
+
+    private final Map<String, String> config;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger registered = new AtomicInteger();
+    private volatile long measureFrom = Long.MAX_VALUE; // nothing is recorded before the warm-up ends
+    private String baseUrl;
+    private String userToken;
+    private String waiterToken;
+    private String adminToken;
+
+    LoadGenerator(Map<String, String> config) {
+        this.config = config;
+        for (String name : List.of("GET /orders/variants", "POST /register", "POST /order/create",
+                "POST /orders/batch", "GET /orders/toConfirm", "POST /order/confirm", "GET /orders",
+                "POST /order/cancel")) {
+            stats.put(name, new EndpointStats(name));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> config = new HashMap<>(Map.of(
+                "concurrency", "64", "duration", "60s", "warmup", "10s", "profiles", "",
+                "rooms", "500", "tables", "500", "batch", "0", "report", ""));
+        Arrays.stream(args)
+                .filter(x -> x.contains("="))
+                .forEach(x -> config.put(x.substring(0, x.indexOf('=')), x.substring(x.indexOf('=') + 1)));
+        new LoadGenerator(config).run();
+    }
+
+    void run() throws Exception {
+        List<String> profiles = new ArrayList<>(List.of("loadtest"));
+        Arrays.stream(config.get("profiles").split(",")).map(String::trim).filter(x -> !x.isEmpty()).forEach(profiles::add);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrdersApiApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties("server.port=0")
+                .run()) {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            seedInventory(context);
+            userToken = registerAndLogin("USER");
+            waiterToken = registerAndLogin("WAITER");
+            adminToken = registerAndLogin("ADMIN");
+
+            int concurrency = Integer.parseInt(config.get("concurrency"));
+            Duration warmup = DurationStyle.detectAndParse(config.get("warmup"));
+            Duration duration = DurationStyle.detectAndParse(config.get("duration"));
+            measureFrom = System.nanoTime() + warmup.toNanos();
+            long deadline = measureFrom + duration.toNanos();
+
+            ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        step();
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS);
+
+            report(profiles, concurrency, duration);
+        }
+    }
+
+    private void seedInventory(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        int rooms = Integer.parseInt(config.get("rooms"));
+        int tables = Integer.parseInt(config.get("tables"));
+        List<Object[]> karaoke = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            karaoke.add(new Object[]{10_000 + i, 10_000 + i, 2 + i % 11});
+        }
+        List<Object[]> realTables = new ArrayList<>();
+        for (int i = 0; i < tables; i++) {
+            realTables.add(new Object[]{10_000 + i, 10_000 + i, 2 + i % 11});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO karaoke(karaoke_id,room_num,seats,booked,version) VALUES (?,?,?,false,0)", karaoke);
+        jdbcTemplate.batchUpdate("INSERT INTO realtable(table_id,table_num,seats,booked,version) VALUES (?,?,?,false,0)", realTables);
+
+        // both indexes loaded on startup, before the seed rows existed
+        context.getBean(SeatInventory.class).load();
+        context.getBean(ReservationSchedule.class).load();
+    }
+
+    private String registerAndLogin(String role) throws IOException, InterruptedException {
+        String email = register(role);
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((email + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8)))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + role + " failed: " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("access_token").asText();
+    }
+
+    private String register(String role) throws IOException, InterruptedException {
+        String email = "load-" + registered.incrementAndGet() + "@gmail.com";
+        String body = objectMapper.writeValueAsString(Map.of(
+                "name", "Load", "email", email, "password", PASSWORD, "role", role));
+        send(stats.get("POST /register"), post("/register", null, body));
+        return email;
+    }
+
+    /** One client iteration; the weights roughly follow production traffic, reads first. */
+    private void step() {
+        try {
+            int dice = ThreadLocalRandom.current().nextInt(100);
+            if (dice < 50) {
+                send(stats.get("GET /orders/variants"), get("/orders/variants", null));
+            } else if (dice < 70) {
+                createOrder();
+            } else if (dice < 80) {
+                JsonNode pending = send(stats.get("GET /orders/toConfirm"), get("/orders/toConfirm?limit=20", waiterToken));
+                pick(pending).ifPresent(id ->
+                        send(stats.get("POST /order/confirm"), post("/order/confirm?id=" + id, waiterToken, null)));
+            } else if (dice < 88) {
+                JsonNode page = send(stats.get("GET /orders"), get("/orders?status=false&limit=20", adminToken));
+                pick(page).ifPresent(id ->
+                        send(stats.get("POST /order/cancel"), post("/order/cancel?id=" + id, adminToken, null)));
+            } else if (dice < 98) {
+                send(stats.get("GET /orders"), get("/orders?limit=50", adminToken));
+            } else {
+                register("USER");
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createOrder() throws IOException {
+        int batch = Integer.parseInt(config.get("batch"));
+        if (batch == 0) {
+            String body = objectMapper.writeValueAsString(orderCreate());
+            send(stats.get("POST /order/create"), post("/order/create", userToken, body));
+            return;
+        }
+        List<Map<String, Object>> orders = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            orders.add(orderCreate());
+        }
+        String body = objectMapper.writeValueAsString(Map.of("orders", orders));
+        send(stats.get("POST /orders/batch"), post("/orders/batch", userToken, body));
+    }
+
+    private Map<String, Object> orderCreate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.of(
+                "order", random.nextBoolean() ? List.of("karaoke") : List.of("table"),
+                "timestamp", LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1 + random.nextInt(72)).toString(),
+                "people_count", 1 + random.nextInt(6));
+    }
+
+    private Optional<Long> pick(JsonNode orders) {
+        if (orders == null || !orders.isArray() || orders.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(orders.get(ThreadLocalRandom.current().nextInt(orders.size())).get("id").asLong());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        HttpRequest.Builder builder = request(path, token);
+        return json == null
+                ? builder.POST(HttpRequest.BodyPublishers.noBody()).build()
+                : builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Sends and records the call; expected business refusals (no free room, order already
+     * confirmed or canceled by another client) count as answers; 401/403, 5xx and timeouts
+     * count as errors.
+     */
+    private JsonNode send(EndpointStats endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() < 500 && response.statusCode() != 401 && response.statusCode() != 403;
+            return response.statusCode() == 200 && response.body().startsWith("[")
+                    ? objectMapper.readTree(response.body())
+                    : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (start >= measureFrom) {
+                endpoint.record(start, ok);
+            }
+        }
+    }
+
+    private void report(List<String> profiles, int concurrency, Duration duration) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-24s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            Map<String, Object> summary = endpoint.summary(duration);
+            endpoints.put(endpoint.name(), summary);
+            System.out.printf("%-24s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.name(),
+                    summary.get("count"), summary.get("errors"), summary.get("throughput_per_s"),
+                    summary.get("p50_ms"), summary.get("p99_ms"), summary.get("p999_ms"), summary.get("max_ms"));
+        }
+
+        String report = config.get("report");
+        if (!report.isBlank()) {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("profiles", profiles);
+            document.put("concurrency", concurrency);
+            document.put("duration_s", duration.toSeconds());
+            document.put("endpoints", endpoints);
+            objectMapper.writeValue(new File(report), document);
+            System.out.println("\nReport written to " + report);
+        }
+    }
+}
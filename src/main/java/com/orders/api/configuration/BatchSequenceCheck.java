@@ -0,0 +1,42 @@
+package com.orders.api.configuration;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * The pooled-lo sequences of the {@code batch} profile are created empty on a schema that so far
+ * used IDENTITY; they only stay clear of the existing rows if those are below the sequence start
+ * in {@code META-INF/orm-batch.xml}. Checked before the web server takes requests.
+ */
+@Component
+@Profile("batch")
+public class BatchSequenceCheck implements InitializingBean
+{
+    private static final Map<String, Long> FIRST_IDS = Map.of(
+            "SELECT MAX(o.order_id) FROM Order o", 1_000_000L,
+            "SELECT MAX(u.user_id) FROM User u", 1_000_000L,
+            "SELECT MAX(k.karaoke_id) FROM Karaoke k", 1_000L,
+            "SELECT MAX(t.table_id) FROM RealTable t", 1_000L);
+
+    private final EntityManager entityManager;
+
+    public BatchSequenceCheck(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        FIRST_IDS.forEach((query, firstId) -> {
+            Long max = entityManager.createQuery(query, Long.class).getSingleResult();
+            if (max != null && max >= firstId) {
+                throw new IllegalStateException("Existing id " + max + " collides with the batch profile sequence " +
+                        "starting at " + firstId + " (" + query + "), raise its initial-value in META-INF/orm-batch.xml");
+            }
+        });
+    }
+}
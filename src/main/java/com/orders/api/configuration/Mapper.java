@@ -14,21 +14,17 @@ public class Mapper {
     }
 
     public static RealTableDTO mapToRealTableDTO(RealTable realTable) {
-        return RealTableDTO.builder()
-                .table_num(realTable.getTable_num())
-                .seats(realTable.getSeats())
-                .booked(realTable.getBooked())
-                .build();
+        return new RealTableDTO(realTable.getTable_num(),
+                realTable.getSeats(),
+                realTable.getBooked());
     }
 
     public static OrderHistoryDTO mapToOrderHistory(Order order) {
-        return OrderHistoryDTO.builder()
-                .status(order.getStatus())
-                .people_count(order.getPeople_count())
-                .timestamp(order.getTimestamp())
-                .karaokeDTO(order.getKaraoke() == null ? null : mapToKaraokeDTO(order.getKaraoke()))
-                .realTableDTO(order.getRealTable() == null ? null : mapToRealTableDTO(order.getRealTable()))
-                .build();
+        return new OrderHistoryDTO(order.getStatus(),
+                order.getPeople_count(),
+                order.getTimestamp(),
+                order.getKaraoke() == null ? null : mapToKaraokeDTO(order.getKaraoke()),
+                order.getRealTable() == null ? null : mapToRealTableDTO(order.getRealTable()));
     }
 
     public static UserDTO mapToUserDTO(User user){
@@ -41,13 +37,11 @@ public class Mapper {
     }
 
     public static OrderDTO mapToOrderDTO(Order order) {
-        return OrderDTO.builder()
-                .id(order.getOrder_id())
-                .timestamp(order.getTimestamp())
-                .people_count(order.getPeople_count())
-                .status(order.getStatus())
-                .karaoke(order.getKaraoke() == null ? null : mapToKaraokeDTO(order.getKaraoke()))
-                .table(order.getRealTable() == null ? null : mapToRealTableDTO(order.getRealTable()))
-                .build();
+        return new OrderDTO(order.getOrder_id(),
+                order.getTimestamp(),
+                order.getPeople_count(),
+                order.getStatus(),
+                order.getKaraoke() == null ? null : mapToKaraokeDTO(order.getKaraoke()),
+                order.getRealTable() == null ? null : mapToRealTableDTO(order.getRealTable()));
     }
 }
@@ -10,5 +10,10 @@ import org.springframework.context.annotation.Configuration;
         name = "basicAuth",
         scheme = "basic"
 )
+@SecurityScheme(
+        type = SecuritySchemeType.HTTP,
+        name = "bearerAuth",
+        scheme = "bearer"
+)
 public class SwaggerConfig {
 }
@@ -0,0 +1,31 @@
+package com.orders.api.configuration.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions of stale-tolerant endpoints to the replica pool and all other
+ * work to the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * otherwise the connection is taken before the transaction is flagged read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource
+{
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && StaleReads.allowed()
+                ? REPLICA
+                : PRIMARY;
+    }
+}
@@ -0,0 +1,26 @@
+package com.orders.api.configuration.datasource;
+
+/**
+ * Marks the current thread as serving an endpoint that tolerates replica lag. Read-only
+ * transactions go to the replica only inside such a scope; everything else, including the
+ * user lookup of the security chain, reads from the primary.
+ */
+public final class StaleReads
+{
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    private StaleReads() {
+    }
+
+    public static void allow() {
+        ALLOWED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        ALLOWED.remove();
+    }
+
+    public static boolean allowed() {
+        return ALLOWED.get() != null;
+    }
+}
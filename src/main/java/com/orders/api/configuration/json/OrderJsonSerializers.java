@@ -0,0 +1,306 @@
+package com.orders.api.configuration.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.orders.api.dto.response.KaraokeDTO;
+import com.orders.api.dto.response.OrderDTO;
+import com.orders.api.dto.response.OrderHistoryDTO;
+import com.orders.api.dto.response.RealTableDTO;
+import com.orders.api.model.Karaoke;
+import com.orders.api.model.Order;
+import com.orders.api.model.RealTable;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Hand-written serializers for the order responses, replacing reflective bean serialization on
+ * the listing paths. {@link OrderSerializer} writes the {@link OrderDTO} shape straight from the
+ * entity, so streaming callers skip the intermediate DTOs. Field order and names match the DTOs;
+ * nulls are skipped as {@code spring.jackson.default-property-inclusion = non_null} does.
+ */
+@JsonComponent
+public class OrderJsonSerializers
+{
+    /** The same serializers for mappers built outside the application context. */
+    public static SimpleModule module() {
+        return new SimpleModule("order-json")
+                .addSerializer(KaraokeDTO.class, new KaraokeDTOSerializer())
+                .addSerializer(RealTableDTO.class, new RealTableDTOSerializer())
+                .addSerializer(OrderDTO.class, new OrderDTOSerializer())
+                .addSerializer(OrderHistoryDTO.class, new OrderHistoryDTOSerializer())
+                .addSerializer(Order.class, new OrderSerializer());
+    }
+
+    public static class KaraokeDTOSerializer extends StdSerializer<KaraokeDTO> {
+        public KaraokeDTOSerializer() {
+            super(KaraokeDTO.class);
+        }
+
+        @Override
+        public void serialize(KaraokeDTO karaoke, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeSeat(gen, "room_num", karaoke.getRoom_num(), karaoke.getSeats(), karaoke.getBooked());
+        }
+    }
+
+    public static class RealTableDTOSerializer extends StdSerializer<RealTableDTO> {
+        public RealTableDTOSerializer() {
+            super(RealTableDTO.class);
+        }
+
+        @Override
+        public void serialize(RealTableDTO table, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeSeat(gen, "table_num", table.getTable_num(), table.getSeats(), table.getBooked());
+        }
+    }
+
+    public static class OrderDTOSerializer extends TimestampedSerializer<OrderDTO> {
+        public OrderDTOSerializer() {
+            this(null, false);
+        }
+
+        private OrderDTOSerializer(JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            super(OrderDTO.class, timestampSerializer, isoTimestamps);
+        }
+
+        @Override
+        public void serialize(OrderDTO order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            writeNumber(gen, "id", order.getId());
+            writeTimestamp(gen, order.getTimestamp(), provider);
+            writeNumber(gen, "people_count", order.getPeople_count());
+            writeBoolean(gen, "status", order.getStatus());
+            KaraokeDTO karaoke = order.getKaraoke();
+            if (karaoke != null) {
+                gen.writeFieldName("karaoke");
+                writeSeat(gen, "room_num", karaoke.getRoom_num(), karaoke.getSeats(), karaoke.getBooked());
+            }
+            RealTableDTO table = order.getTable();
+            if (table != null) {
+                gen.writeFieldName("table");
+                writeSeat(gen, "table_num", table.getTable_num(), table.getSeats(), table.getBooked());
+            }
+            gen.writeEndObject();
+        }
+
+        @Override
+        OrderDTOSerializer withTimestampSerializer(JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            return new OrderDTOSerializer(timestampSerializer, isoTimestamps);
+        }
+    }
+
+    public static class OrderHistoryDTOSerializer extends TimestampedSerializer<OrderHistoryDTO> {
+        public OrderHistoryDTOSerializer() {
+            this(null, false);
+        }
+
+        private OrderHistoryDTOSerializer(JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            super(OrderHistoryDTO.class, timestampSerializer, isoTimestamps);
+        }
+
+        @Override
+        public void serialize(OrderHistoryDTO order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            writeBoolean(gen, "status", order.getStatus());
+            writeNumber(gen, "people_count", order.getPeople_count());
+            writeTimestamp(gen, order.getTimestamp(), provider);
+            KaraokeDTO karaoke = order.getKaraokeDTO();
+            if (karaoke != null) {
+                gen.writeFieldName("karaokeDTO");
+                writeSeat(gen, "room_num", karaoke.getRoom_num(), karaoke.getSeats(), karaoke.getBooked());
+            }
+            RealTableDTO table = order.getRealTableDTO();
+            if (table != null) {
+                gen.writeFieldName("realTableDTO");
+                writeSeat(gen, "table_num", table.getTable_num(), table.getSeats(), table.getBooked());
+            }
+            gen.writeEndObject();
+        }
+
+        @Override
+        OrderHistoryDTOSerializer withTimestampSerializer(JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            return new OrderHistoryDTOSerializer(timestampSerializer, isoTimestamps);
+        }
+    }
+
+    /** Writes an order entity as an {@link OrderDTO}; associations must already be loaded. */
+    public static class OrderSerializer extends TimestampedSerializer<Order> {
+        public OrderSerializer() {
+            this(null, false);
+        }
+
+        private OrderSerializer(JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            super(Order.class, timestampSerializer, isoTimestamps);
+        }
+
+        @Override
+        public void serialize(Order order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            writeNumber(gen, "id", order.getOrder_id());
+            writeTimestamp(gen, order.getTimestamp(), provider);
+            writeNumber(gen, "people_count", order.getPeople_count());
+            writeBoolean(gen, "status", order.getStatus());
+            Karaoke karaoke = order.getKaraoke();
+            if (karaoke != null) {
+                gen.writeFieldName("karaoke");
+                writeSeat(gen, "room_num", karaoke.getRoom_num(), karaoke.getSeats(), karaoke.getBooked());
+            }
+            RealTable table = order.getRealTable();
+            if (table != null) {
+                gen.writeFieldName("table");
+                writeSeat(gen, "table_num", table.getTable_num(), table.getSeats(), table.getBooked());
+            }
+            gen.writeEndObject();
+        }
+
+        @Override
+        OrderSerializer withTimestampSerializer(JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            return new OrderSerializer(timestampSerializer, isoTimestamps);
+        }
+    }
+
+    /**
+     * Resolves the mapper's {@link LocalDateTime} serializer once per mapper, so timestamps follow
+     * {@code WRITE_DATES_AS_TIMESTAMPS} and any configured format exactly like the DTOs did. The
+     * stock ISO text form is written by hand: {@code DateTimeFormatter} allocates several times
+     * more per value than the rest of the row together.
+     */
+    abstract static class TimestampedSerializer<T> extends StdSerializer<T> implements ContextualSerializer {
+        // ISO_LOCAL_DATE_TIME drops a zero fraction and trims the rest to 3, 6 or 9 digits
+        private static final List<LocalDateTime> PROBES = List.of(
+                LocalDateTime.of(2001, 2, 3, 4, 5, 6),
+                LocalDateTime.of(2001, 2, 3, 4, 5, 0),
+                LocalDateTime.of(2001, 2, 3, 4, 5, 6, 500_000_000),
+                LocalDateTime.of(2001, 2, 3, 4, 5, 6, 7_000_000),
+                LocalDateTime.of(2001, 2, 3, 4, 5, 6, 7_000),
+                LocalDateTime.of(2001, 2, 3, 4, 5, 6, 123_456_789));
+
+        private final JsonSerializer<Object> timestampSerializer;
+        private final boolean isoTimestamps;
+
+        TimestampedSerializer(Class<T> type, JsonSerializer<Object> timestampSerializer, boolean isoTimestamps) {
+            super(type);
+            this.timestampSerializer = timestampSerializer;
+            this.isoTimestamps = isoTimestamps;
+        }
+
+        abstract TimestampedSerializer<T> withTimestampSerializer(JsonSerializer<Object> timestampSerializer,
+                                                                  boolean isoTimestamps);
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            JsonSerializer<Object> resolved = provider.findValueSerializer(LocalDateTime.class, property);
+            return withTimestampSerializer(resolved, writesIsoText(resolved, provider));
+        }
+
+        // the serializer itself tells whether it prints the stock format, whatever configured it
+        private static boolean writesIsoText(JsonSerializer<Object> serializer, SerializerProvider provider) {
+            for (LocalDateTime probe : PROBES) {
+                try (TokenBuffer buffer = new TokenBuffer(null, false)) {
+                    serializer.serialize(probe, buffer, provider);
+                    JsonParser parser = buffer.asParser();
+                    if (parser.nextToken() != JsonToken.VALUE_STRING
+                            || !DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(probe).equals(parser.getText())) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void writeTimestamp(JsonGenerator gen, LocalDateTime timestamp, SerializerProvider provider)
+                throws IOException {
+            if (timestamp == null) {
+                return;
+            }
+            gen.writeFieldName("timestamp");
+            if (isoTimestamps && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    && timestamp.getYear() >= 0 && timestamp.getYear() <= 9999) {
+                writeIsoTimestamp(gen, timestamp);
+            } else if (timestampSerializer != null) {
+                timestampSerializer.serialize(timestamp, gen, provider);
+            } else {
+                provider.defaultSerializeValue(timestamp, gen);
+            }
+        }
+    }
+
+    /** Same text as {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME} for years 0000-9999. */
+    static void writeIsoTimestamp(JsonGenerator gen, LocalDateTime timestamp) throws IOException {
+        char[] buffer = new char[29];
+        writeDigits(buffer, 0, timestamp.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, timestamp.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, timestamp.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, timestamp.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, timestamp.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, timestamp.getSecond(), 2);
+
+        int length = 19;
+        int nano = timestamp.getNano();
+        if (nano != 0) {
+            buffer[19] = '.';
+            writeDigits(buffer, 20, nano, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') { // the fraction is printed without trailing zeros
+                length--;
+            }
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    static void writeSeat(JsonGenerator gen, String numberField, Integer number, Integer seats, Boolean booked)
+            throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, numberField, number);
+        writeNumber(gen, "seats", seats);
+        writeBoolean(gen, "booked", booked);
+        gen.writeEndObject();
+    }
+
+    static void writeNumber(JsonGenerator gen, String field, Long value) throws IOException {
+        if (value != null) {
+            gen.writeNumberField(field, value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, String field, Integer value) throws IOException {
+        if (value != null) {
+            gen.writeNumberField(field, value);
+        }
+    }
+
+    static void writeBoolean(JsonGenerator gen, String field, Boolean value) throws IOException {
+        if (value != null) {
+            gen.writeBooleanField(field, value);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.orders.api.configuration.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers successful checks of the slow delegate (BCrypt) for a while, so HTTP Basic clients
+ * don't pay a full hash on every request. Entries are keyed by an HMAC of the raw password and
+ * the stored hash under a per-process random key: the raw password is never kept, and a changed
+ * hash simply stops matching old entries. Failed checks are never cached. Each check works on a
+ * clone of a keyed prototype {@link Mac} rather than a thread-local one, which would be rebuilt for
+ * every request once requests run on (unpooled) virtual threads.
+ */
+public final class CachingPasswordEncoder implements PasswordEncoder, MeterBinder
+{
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final ExpiringCache<String, Boolean> verified;
+    private final Mac prototype;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration ttl, int maxSize) {
+        this.delegate = delegate;
+        this.verified = new ExpiringCache<>(ttl, maxSize);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        String key = fingerprint(rawPassword, encodedPassword);
+        if (verified.get(key) != null) {
+            cacheHits.increment();
+            return true;
+        }
+
+        long start = System.nanoTime();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        verificationNanos.add(System.nanoTime() - start);
+        verifications.increment();
+        if (matches) {
+            verified.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("security.password.verify", this,
+                        x -> x.verifications.sum(), x -> x.verificationNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Full checks by the delegate encoder (cache misses)")
+                .register(registry);
+        FunctionCounter.builder("security.password.cache.hits", cacheHits, LongAdder::sum)
+                .description("Checks answered from the verified-credentials cache")
+                .register(registry);
+    }
+
+    private String fingerprint(CharSequence rawPassword, String encodedPassword) {
+        Mac instance;
+        try {
+            instance = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        instance.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        instance.update((byte) 0);
+        return Base64.getEncoder().encodeToString(instance.doFinal(encodedPassword.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.orders.api.configuration.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small bounded LRU map whose entries expire a fixed time after they were put.
+ * Expired entries are dropped lazily on lookup or pushed out by newer ones.
+ */
+public final class ExpiringCache<K, V>
+{
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+
+    public ExpiringCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.putAt() >= ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        if (ttlNanos > 0) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private record Entry<V>(V value, long putAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.orders.api.configuration.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,9 +9,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -19,30 +22,40 @@ public class SecurityConfig {
 
     String[] allAuthorities = Arrays.stream(Role.values()).map(Enum::name).toArray(String[]::new);
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http.authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/register").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/login").hasAnyAuthority(allAuthorities)
                         .requestMatchers(HttpMethod.GET, "/check/authorities").hasAnyAuthority(allAuthorities)
                         .requestMatchers(HttpMethod.GET,"/users").hasAuthority(Role.ADMIN.toString())
                         .requestMatchers(HttpMethod.GET, "/orders/variants").permitAll()
                         .requestMatchers(HttpMethod.POST, "/order/create").hasAnyAuthority(allAuthorities)
+                        .requestMatchers(HttpMethod.POST, "/orders/batch").hasAnyAuthority(allAuthorities)
                         .requestMatchers(HttpMethod.GET, "/orders/toConfirm").hasAuthority(Role.WAITER.toString())
                         .requestMatchers(HttpMethod.POST, "/order/confirm").hasAuthority(Role.WAITER.toString())
+                        .requestMatchers(HttpMethod.POST, "/orders/confirm").hasAuthority(Role.WAITER.toString())
                         .requestMatchers(HttpMethod.POST,"/order/cancel").hasAuthority(Role.ADMIN.toString())
+                        .requestMatchers(HttpMethod.POST, "/orders/cancel").hasAuthority(Role.ADMIN.toString())
                         .requestMatchers(HttpMethod.GET, "/orders").hasAuthority(Role.ADMIN.toString())
+                        .requestMatchers(HttpMethod.GET, "/orders/export").hasAuthority(Role.ADMIN.toString())
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/**").hasAuthority(Role.ADMIN.toString())
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .anyRequest().denyAll()
                 )
                 .httpBasic(Customizer.withDefaults())     //to send basic auth in http
-                .formLogin(Customizer.withDefaults())    //for default login form
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(AbstractHttpConfigurer::disable); // for POST requests via Postman;
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CachingPasswordEncoder passwordEncoder(
+            @Value("${orders.security.credentials-cache.ttl:5m}") Duration ttl,
+            @Value("${orders.security.credentials-cache.max-size:10000}") int maxSize) {
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), ttl, maxSize);
     }
 }
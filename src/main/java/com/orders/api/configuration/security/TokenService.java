@@ -0,0 +1,94 @@
+package com.orders.api.configuration.security;
+
+import com.orders.api.model.User;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies short-lived bearer tokens of the form {@code payload.signature}, where the
+ * payload carries user id, role, expiry and email and the signature is an HMAC-SHA256 over it.
+ * Verification needs neither the database nor BCrypt. Without a configured secret a random one
+ * is generated, so tokens are only valid on the node that issued them until it restarts.
+ */
+@Component
+public class TokenService
+{
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public TokenService(@Value("${orders.security.token.secret:}") String secret,
+                        @Value("${orders.security.token.ttl:15m}") Duration ttl) {
+        byte[] bytes;
+        if (secret == null || secret.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = Base64.getDecoder().decode(secret);
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public String issue(User user) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        String payload = user.getUser_id() + ":" + user.getRole() + ":" + expiresAt + ":" + user.getEmail();
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + "." + ENCODER.encodeToString(sign(encoded));
+    }
+
+    public Optional<UserAdapter> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String encoded = token.substring(0, dot);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(encoded), signature)) {
+                return Optional.empty();
+            }
+
+            String[] claims = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split(":", 4);
+            if (claims.length != 4 || Long.parseLong(claims[2]) <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new UserAdapter(User.builder()
+                    .user_id(Long.valueOf(claims[0]))
+                    .role(Role.valueOf(claims[1]))
+                    .email(claims[3])
+                    .build()));
+        } catch (IllegalArgumentException e) { // bad base64, number or role
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.orders.api.configuration.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL accounting, meant for development and test environments only.
+ */
+@Configuration
+@ConditionalOnProperty("orders.sql-budget.enabled")
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlBudgetConfig {
+    @Bean
+    public HibernatePropertiesCustomizer sqlBudgetHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public SqlBudgetFilter sqlBudgetFilter(SqlBudgetProperties properties) {
+        return new SqlBudgetFilter(properties);
+    }
+}
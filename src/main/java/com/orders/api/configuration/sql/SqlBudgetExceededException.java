@@ -0,0 +1,7 @@
+package com.orders.api.configuration.sql;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String msg) {
+        super(msg);
+    }
+}
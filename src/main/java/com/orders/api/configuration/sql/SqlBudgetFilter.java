@@ -0,0 +1,116 @@
+package com.orders.api.configuration.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Measures every request from before the security chain (so the user lookup counts) to the
+ * end of the handler. The totals are sent as {@code X-SQL-Statements}/{@code X-SQL-Time-Ms}
+ * headers just before the body starts, logged at the end, and checked against the budget of
+ * the matched endpoint.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter
+{
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlBudgetProperties properties;
+
+    public SqlBudgetFilter(SqlBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.start();
+        HeaderWritingResponse wrapped = new HeaderWritingResponse(response, counts);
+        try {
+            filterChain.doFilter(request, wrapped);
+            wrapped.writeHeaders();
+        } finally {
+            SqlStatementCounter.stop();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        log.debug("{} statements={} jdbcTimeMs={}", endpoint, counts.statements(), counts.jdbcMillis());
+
+        Integer budget = properties.getLimits().get(endpoint);
+        if (budget != null && counts.statements() > budget) {
+            String message = endpoint + " ran " + counts.statements() + " SQL statements, budget is " + budget;
+            if (properties.isStrict()) {
+                throw new SqlBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    /**
+     * Adds the headers on first access to the body, while they can still be set.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper
+    {
+        private final SqlStatementCounter.Counts counts;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementCounter.Counts counts) {
+            super(response);
+            this.counts = counts;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(counts.statements()));
+            setHeader(TIME_HEADER, Long.toString(counts.jdbcMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
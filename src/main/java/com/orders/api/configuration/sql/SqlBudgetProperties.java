@@ -0,0 +1,22 @@
+package com.orders.api.configuration.sql;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code orders.sql-budget.*}: statement budgets keyed by {@code "<METHOD> <path pattern>"},
+ * e.g. {@code orders.sql-budget.limits[GET /orders] = 2}.
+ */
+@Data
+@ConfigurationProperties("orders.sql-budget")
+public class SqlBudgetProperties
+{
+    private boolean enabled;
+    // throw instead of logging a warning, for tests
+    private boolean strict;
+    private Map<String, Integer> limits = new HashMap<>();
+}
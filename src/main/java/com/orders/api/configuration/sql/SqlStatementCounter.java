@@ -0,0 +1,54 @@
+package com.orders.api.configuration.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the current thread while a request is being
+ * measured; JDBC execution time is added by {@link SqlTimingListener}. Outside a measured
+ * request (startup, background work) nothing is recorded.
+ */
+public final class SqlStatementCounter implements StatementInspector
+{
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+
+    static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    static Counts current() {
+        return CURRENT.get();
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static final class Counts
+    {
+        private int statements;
+        private long jdbcNanos;
+
+        int statements() {
+            return statements;
+        }
+
+        long jdbcMillis() {
+            return jdbcNanos / 1_000_000;
+        }
+
+        void addJdbcNanos(long nanos) {
+            jdbcNanos += nanos;
+        }
+    }
+}
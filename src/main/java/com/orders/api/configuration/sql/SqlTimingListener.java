@@ -0,0 +1,40 @@
+package com.orders.api.configuration.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent in JDBC executes (single and batched) to the measured request.
+ * Hibernate creates one instance per session, and a session is used by one thread at a time.
+ */
+public class SqlTimingListener implements SessionEventListener
+{
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.current();
+        if (counts != null) {
+            counts.addJdbcNanos(System.nanoTime() - start);
+        }
+    }
+}
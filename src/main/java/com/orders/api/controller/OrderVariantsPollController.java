@@ -0,0 +1,123 @@
+package com.orders.api.controller;
+
+import com.orders.api.configuration.datasource.StaleReads;
+import com.orders.api.dto.response.OrderDetailsDTO;
+import com.orders.api.service.ChangeTracker;
+import com.orders.api.service.OrdersApiService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Long-polling flavour of {@code GET /orders/variants}: a client that already holds the current
+ * ETag and sends {@code Prefer: wait=<seconds>} is parked as a servlet async request, which holds
+ * a connection but no thread, and is answered as soon as the inventory changes or with 304 when
+ * the wait runs out. Requests without those headers keep going to {@link OrdersApiController}.
+ */
+@RestController
+@Profile("long-poll")
+public class OrderVariantsPollController
+{
+    private static final Pattern WAIT = Pattern.compile("wait=(\\d{1,6})");
+
+    private final OrdersApiService ordersApiService;
+    private final ChangeTracker changeTracker;
+    private final Executor executor;
+    private final Duration maxWait;
+    private final Set<DeferredResult<ResponseEntity<OrderDetailsDTO>>> waiting = ConcurrentHashMap.newKeySet();
+
+    public OrderVariantsPollController(OrdersApiService ordersApiService,
+                                       ChangeTracker changeTracker,
+                                       @Qualifier("applicationTaskExecutor") Executor executor,
+                                       @Value("${orders.variants-poll.max-wait:30s}") Duration maxWait) {
+        this.ordersApiService = ordersApiService;
+        this.changeTracker = changeTracker;
+        this.executor = executor;
+        this.maxWait = maxWait;
+        changeTracker.onInventoryChange(this::inventoryChanged);
+    }
+
+    @Operation(summary = "Wait for the variants of orders to change")
+    @ApiResponse(responseCode = "200", description = "Variants changed since the ETag in If-None-Match",
+            content = @Content(schema = @Schema(implementation = OrderDetailsDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Nothing changed during the wait", content = @Content)
+
+    @GetMapping(value = "/orders/variants", headers = {"If-None-Match", "Prefer"})
+    public DeferredResult<ResponseEntity<OrderDetailsDTO>> pollOrderVariants(
+            @RequestHeader("If-None-Match") String ifNoneMatch,
+            @RequestHeader("Prefer") String prefer)
+    {
+        StaleReads.clear(); // every answer carries an ETag, so it must be read from the primary
+        Duration wait = requestedWait(prefer);
+        DeferredResult<ResponseEntity<OrderDetailsDTO>> result =
+                new DeferredResult<>(wait.toMillis(), () -> timedOut(ifNoneMatch));
+
+        if (!ifNoneMatch.contains(changeTracker.inventoryETag())) {
+            result.setResult(variants());
+            return result;
+        }
+        if (wait.isZero()) {
+            result.setResult(notModified());
+            return result;
+        }
+
+        waiting.add(result);
+        result.onCompletion(() -> waiting.remove(result));
+        if (!ifNoneMatch.contains(changeTracker.inventoryETag())) { // changed before we were registered
+            inventoryChanged();
+        }
+        return result;
+    }
+
+    private void inventoryChanged() {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            ResponseEntity<OrderDetailsDTO> variants = variants(); // one load for every waiting client
+            waiting.forEach(result -> result.setResult(variants));
+        });
+    }
+
+    private ResponseEntity<OrderDetailsDTO> variants() {
+        String etag = changeTracker.inventoryETag(); // read first: a racing change only makes the tag stale
+        return ResponseEntity.ok().eTag(etag).body(ordersApiService.getOrderVariants());
+    }
+
+    // the tag also moves with its time bucket, which no listener reports
+    private ResponseEntity<OrderDetailsDTO> timedOut(String ifNoneMatch) {
+        return ifNoneMatch.contains(changeTracker.inventoryETag()) ? notModified() : variants();
+    }
+
+    private ResponseEntity<OrderDetailsDTO> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(changeTracker.inventoryETag()).build();
+    }
+
+    private Duration requestedWait(String prefer) {
+        Matcher matcher = WAIT.matcher(prefer);
+        if (!matcher.find()) {
+            return Duration.ZERO;
+        }
+        Duration requested = Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+        return requested.compareTo(maxWait) > 0 ? maxWait : requested;
+    }
+}
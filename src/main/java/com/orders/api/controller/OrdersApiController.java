@@ -1,12 +1,24 @@
 package com.orders.api.controller;
 
+import com.orders.api.configuration.datasource.StaleReads;
+import com.orders.api.configuration.security.TokenService;
 import com.orders.api.configuration.security.UserAdapter;
+import com.orders.api.dto.request.OrderBatchDTO;
+import com.orders.api.dto.request.OrderCancelDTO;
 import com.orders.api.dto.request.OrderCreateDTO;
+import com.orders.api.dto.request.OrderIdsDTO;
+import com.orders.api.dto.request.OrdersFilterDTO;
 import com.orders.api.dto.request.RegistrationRequest;
+import com.orders.api.dto.response.OrderBatchResultDTO;
+import com.orders.api.dto.response.OrderCancelResultDTO;
+import com.orders.api.dto.response.OrderConfirmResultDTO;
 import com.orders.api.dto.response.OrderDTO;
 import com.orders.api.dto.response.OrderDetailsDTO;
 import com.orders.api.dto.response.OrderHistoryDTO;
+import com.orders.api.dto.response.TokenDTO;
 import com.orders.api.dto.response.UserDTO;
+import com.orders.api.service.ChangeTracker;
+import com.orders.api.service.OrderExportService;
 import com.orders.api.service.OrdersApiService;
 import com.orders.api.service.UserDetailsServiceImp;
 
@@ -21,11 +33,19 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 
+import org.springdoc.core.annotations.ParameterObject;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -34,6 +54,9 @@ public class OrdersApiController
 {
     private final OrdersApiService ordersApiService;
     private final UserDetailsServiceImp userDetailsService;
+    private final OrderExportService orderExportService;
+    private final ChangeTracker changeTracker;
+    private final TokenService tokenService;
 
     @Operation(summary = "Get all variants of orders")
     @ApiResponse(responseCode = "200",
@@ -45,9 +68,15 @@ public class OrdersApiController
                     "\"booked\":true}],\"realTableDTOS\":[{\"table_num\":2," +
                     "\"seats\":4,\"booked\":false}]}")))
 
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+
     @GetMapping("/orders/variants")
-    public ResponseEntity<OrderDetailsDTO> getOrderVariants()
+    public ResponseEntity<OrderDetailsDTO> getOrderVariants(WebRequest request)
     {
+        // a replica read may be older than the current version, so it gets no ETag
+        if (!StaleReads.allowed() && request.checkNotModified(changeTracker.inventoryETag())) {
+            return null; // 304, nothing read or serialized
+        }
         return new ResponseEntity<>(ordersApiService.getOrderVariants(),HttpStatus.OK);
     }
 
@@ -60,8 +89,28 @@ public class OrdersApiController
         return userDetailsService.register(registrationRequest);
     }
 
-    @Operation(summary = "Check security configuration, authorization required",
+    @Operation(summary = "Exchange basic credentials for a short-lived bearer token",
             security = @SecurityRequirement(name = "basicAuth"))
+    @ApiResponse(responseCode = "200",
+            description = "Signed token",
+            content = @Content(
+                    schema = @Schema(implementation = TokenDTO.class),
+                    examples = @ExampleObject(
+                            value = "{\"access_token\":\"MTozOjE3MTYxMDk2NjY6ZW1haWxAZ21haWwuY29t.c2lnbmF0dXJl\"," +
+                                    "\"token_type\":\"Bearer\",\"expires_in\":900}")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+
+    @PostMapping("/login")
+    public ResponseEntity<TokenDTO> login(@AuthenticationPrincipal UserAdapter user) {
+        return new ResponseEntity<>(TokenDTO.builder()
+                .access_token(tokenService.issue(user.getUser()))
+                .token_type("Bearer")
+                .expires_in(tokenService.ttl().toSeconds())
+                .build(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Check security configuration, authorization required",
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200", description = "Correct", content = @Content)
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
 
@@ -71,7 +120,7 @@ public class OrdersApiController
     }
 
     @Operation(summary = "Get registered users, ADMIN authority required",
-            security = @SecurityRequirement(name = "basicAuth"))
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200",
             description = "All users",
             content = @Content(
@@ -88,7 +137,7 @@ public class OrdersApiController
     }
 
     @Operation(summary = "Order creation, authorization required",
-            security = @SecurityRequirement(name = "basicAuth"))
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200",
             description = "Created order",
             content = @Content(
@@ -105,8 +154,29 @@ public class OrdersApiController
         return new ResponseEntity<>(ordersApiService.createOrder(orderCreateDTO, user.getUser()), HttpStatus.OK);
     }
 
+    @Operation(summary = "Create several orders at once, authorization required",
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
+    @ApiResponse(responseCode = "200",
+            description = "Result per order, in request order",
+            content = @Content(
+                    schema = @Schema(implementation = OrderBatchResultDTO.class),
+                    examples = @ExampleObject(
+                            value = "[{\"index\":0,\"order\":{\"status\":false,\"people_count\":1," +
+                                    "\"timestamp\":\"2024-05-19T09:01:06\"," +
+                                    "\"karaokeDTO\":{\"room_num\":1,\"seats\":2,\"booked\":true}}}," +
+                                    "{\"index\":1,\"error\":\"There are no free table seats!\"}]")))
+    @ApiResponse(responseCode = "400", description = "Malformed batch", content = @Content)
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+
+    @PostMapping("/orders/batch")
+    public ResponseEntity<List<OrderBatchResultDTO>> createOrders(@Valid @RequestBody OrderBatchDTO orderBatchDTO,
+                                                                  @AuthenticationPrincipal UserAdapter user) {
+        return new ResponseEntity<>(ordersApiService.createOrders(orderBatchDTO.getOrders(), user.getUser()),
+                HttpStatus.OK);
+    }
+
     @Operation(summary = "Get orders that needs confirmation, WAITER authority required",
-            security = @SecurityRequirement(name = "basicAuth"))
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200",
             description = "All orders to confirm",
             content = @Content(
@@ -115,16 +185,33 @@ public class OrdersApiController
                             value = "[{\"id\":1,\"timestamp\":\"2024-05-19T09:01:06\",\"people_count\":1,\"status\":false," +
                                     "\"karaoke\":{\"room_num\":1,\"seats\":2,\"booked\":true}," +
                                     "\"table\":{\"table_num\":1,\"seats\":3,\"booked\":true}}]")))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    @ApiResponse(responseCode = "400", description = "after without after_ts", content = @Content)
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
     @ApiResponse(responseCode = "403", description = "Wrong authority", content = @Content)
 
+    //link looks like /orders/toConfirm?after_ts=2024-05-19T09:01:06&after=5&limit=20
     @GetMapping("/orders/toConfirm")
-    public ResponseEntity<List<OrderDTO>> getOrdersToConfirm() {
-        return new ResponseEntity<>(ordersApiService.getOrdersToConfirm(), HttpStatus.OK);
+    public ResponseEntity<List<OrderDTO>> getOrdersToConfirm(
+            @Parameter(description = "Timestamp of the last order on the previous page", example = "2024-05-19T09:01:06")
+            @RequestParam(name = "after_ts", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTimestamp,
+            @Parameter(description = "ID of the last order on the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size, at most " + OrdersApiService.MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        if (after != null && afterTimestamp == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after_ts is required with after");
+        }
+        if (request.checkNotModified(changeTracker.ordersETag())) {
+            return null;
+        }
+        return new ResponseEntity<>(ordersApiService.getOrdersToConfirm(afterTimestamp, after, limit), HttpStatus.OK);
     }
 
     @Operation(summary = "Confirm order, WAITER authority required",
-            security = @SecurityRequirement(name = "basicAuth"))
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200", description = "Order confirmed", content = @Content)
     @ApiResponse(responseCode = "400", description = "Order has been already confirmed or wrong id", content = @Content)
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
@@ -135,8 +222,24 @@ public class OrdersApiController
         return ordersApiService.confirmOrder(id);
     }
 
+    @Operation(summary = "Confirm several orders at once, WAITER authority required",
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
+    @ApiResponse(responseCode = "200",
+            description = "Which orders were confirmed, had already been confirmed or do not exist",
+            content = @Content(
+                    schema = @Schema(implementation = OrderConfirmResultDTO.class),
+                    examples = @ExampleObject(
+                            value = "{\"confirmed\":[1,2],\"already_confirmed\":[3],\"missing\":[7]}")))
+    @ApiResponse(responseCode = "400", description = "No or too many ids", content = @Content)
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    @ApiResponse(responseCode = "403", description = "Wrong authority", content = @Content)
+    @PostMapping("/orders/confirm")
+    public ResponseEntity<OrderConfirmResultDTO> confirmOrders(@Valid @RequestBody OrderIdsDTO orderIdsDTO) {
+        return new ResponseEntity<>(ordersApiService.confirmOrders(orderIdsDTO.getIds()), HttpStatus.OK);
+    }
+
     @Operation(summary = "Cancel order, ADMIN authority required",
-            security = @SecurityRequirement(name = "basicAuth"))
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200", description = "Order canceled", content = @Content)
     @ApiResponse(responseCode = "400", description = "Wrong id", content = @Content)
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
@@ -147,8 +250,23 @@ public class OrdersApiController
         return ordersApiService.cancelOrder(id);
     }
 
-    @Operation(summary = "Get all orders, ADMIN authority required",
-            security = @SecurityRequirement(name = "basicAuth"))
+    @Operation(summary = "Cancel orders by IDs or by a time range, ADMIN authority required",
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
+    @ApiResponse(responseCode = "200",
+            description = "Canceled orders and IDs that do not exist",
+            content = @Content(
+                    schema = @Schema(implementation = OrderCancelResultDTO.class),
+                    examples = @ExampleObject(value = "{\"canceled\":[1,2],\"missing\":[7]}")))
+    @ApiResponse(responseCode = "400", description = "Neither IDs nor a valid range given, or the range holds more than 500 orders", content = @Content)
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    @ApiResponse(responseCode = "403", description = "Wrong authority", content = @Content)
+    @PostMapping("/orders/cancel")
+    public ResponseEntity<OrderCancelResultDTO> cancelOrders(@Valid @RequestBody OrderCancelDTO orderCancelDTO) {
+        return new ResponseEntity<>(ordersApiService.cancelOrders(orderCancelDTO), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get orders page by page, ADMIN authority required",
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
     @ApiResponse(responseCode = "200",
             description = "All orders",
             content = @Content(
@@ -159,9 +277,27 @@ public class OrdersApiController
                                     "\"table\":{\"table_num\":1,\"seats\":3,\"booked\":true}}]")))
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
     @ApiResponse(responseCode = "403", description = "Wrong authority", content = @Content)
-    @GetMapping("/orders")
-    public ResponseEntity<List<OrderDTO>> getOrders() {
-        return new ResponseEntity<>(ordersApiService.getOrders(), HttpStatus.OK);
+    @GetMapping("/orders") //link looks like /orders?after=100&limit=50&status=false&from=2024-12-12T00:00:00
+    public ResponseEntity<List<OrderDTO>> getOrders(@ParameterObject OrdersFilterDTO filter) {
+        return new ResponseEntity<>(ordersApiService.getOrders(filter), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export all orders as newline-delimited JSON, ADMIN authority required",
+            security = {@SecurityRequirement(name = "basicAuth"), @SecurityRequirement(name = "bearerAuth")})
+    @ApiResponse(responseCode = "200",
+            description = "One order per line",
+            content = @Content(
+                    mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(
+                            value = "{\"id\":1,\"timestamp\":\"2024-05-19T09:01:06\",\"people_count\":1,\"status\":true," +
+                                    "\"karaoke\":{\"room_num\":1,\"seats\":2,\"booked\":true}}\n")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    @ApiResponse(responseCode = "403", description = "Wrong authority", content = @Content)
+    @GetMapping(value = "/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderExportService::exportOrders);
     }
 
     // http://localhost:8080/swagger-ui/index.html to access swagger
@@ -1,8 +1,10 @@
 package com.orders.api.controller.advice;
 
+import com.orders.api.exception.CancelOrdersException;
 import com.orders.api.exception.CreateOrderException;
 import com.orders.api.exception.GetOrdersException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,6 +30,18 @@ public class OrdersApiAdvice {
         return Map.of("error", exception.getMessage());
     }
 
+    @ExceptionHandler(CancelOrdersException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleCancelOrdersException(CancelOrdersException exception) {
+        return Map.of("error", exception.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+        return Map.of("error", "The order was changed concurrently, try again!");
+    }
+
     @ExceptionHandler(GetOrdersException.class)
     @ResponseStatus(HttpStatus.OK)
     public Map<String, String> handleGetOrderException(GetOrdersException exception) {
@@ -0,0 +1,23 @@
+package com.orders.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchDTO
+{
+    @NotNull(message = "Add at least one order!")
+    @Size(min = 1, max = 100, message = "A batch holds from 1 to 100 orders!")
+    private List<@Valid OrderCreateDTO> orders;
+}
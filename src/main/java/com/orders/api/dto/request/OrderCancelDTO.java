@@ -0,0 +1,36 @@
+package com.orders.api.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderCancelDTO
+{
+    @Schema(example = "[1, 2, 3]", description = "Either order IDs or a from/to range")
+    @Size(min = 1, max = 500, message = "From 1 to 500 order IDs at once!")
+    private List<@NotNull Long> ids;
+    @Schema(example = "2024-12-12T18:00:00", description = "Inclusive start of the range")
+    private LocalDateTime from;
+    @Schema(example = "2024-12-13T00:00:00", description = "Exclusive end of the range")
+    private LocalDateTime to;
+
+    @JsonIgnore
+    @AssertTrue(message = "Give either order IDs or a from/to range!")
+    public boolean isSelectionValid() {
+        return ids != null ? from == null && to == null : from != null && to != null && from.isBefore(to);
+    }
+}
@@ -0,0 +1,24 @@
+package com.orders.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderIdsDTO
+{
+    @Schema(example = "[1, 2, 3]")
+    @NotNull(message = "Add at least one order ID!")
+    @Size(min = 1, max = 500, message = "From 1 to 500 order IDs at once!")
+    private List<@NotNull Long> ids;
+}
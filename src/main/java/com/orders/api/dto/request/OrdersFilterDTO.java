@@ -0,0 +1,33 @@
+package com.orders.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrdersFilterDTO
+{
+    @Schema(description = "ID of the last order on the previous page")
+    private Long after;
+    @Schema(description = "Page size, capped by the server", example = "50")
+    @Builder.Default
+    private int limit = 50;
+    @Schema(description = "Only confirmed (true) or pending (false) orders")
+    private Boolean status;
+    @Schema(example = "2024-12-12T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;//inclusive
+    @Schema(example = "2024-12-13T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;//exclusive
+}
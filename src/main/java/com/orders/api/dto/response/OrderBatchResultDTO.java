@@ -0,0 +1,15 @@
+package com.orders.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class OrderBatchResultDTO
+{
+    private int index; // position in the request
+    private OrderHistoryDTO order;
+    private String error;
+}
@@ -0,0 +1,16 @@
+package com.orders.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class OrderCancelResultDTO
+{
+    private List<Long> canceled;
+    private List<Long> missing; // only for cancellation by IDs
+}
@@ -0,0 +1,17 @@
+package com.orders.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class OrderConfirmResultDTO
+{
+    private List<Long> confirmed;
+    private List<Long> already_confirmed;
+    private List<Long> missing;
+}
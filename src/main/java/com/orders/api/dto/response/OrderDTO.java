@@ -1,11 +1,13 @@
 package com.orders.api.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Data
+@AllArgsConstructor
 @Builder
 public class OrderDTO
 {
@@ -0,0 +1,13 @@
+package com.orders.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TokenDTO
+{
+    private String access_token;
+    private String token_type;
+    private long expires_in;
+}
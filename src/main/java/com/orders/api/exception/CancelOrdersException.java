@@ -0,0 +1,7 @@
+package com.orders.api.exception;
+
+public class CancelOrdersException extends RuntimeException {
+    public CancelOrdersException(String msg) {
+        super(msg);
+    }
+}
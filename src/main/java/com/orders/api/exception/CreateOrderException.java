@@ -1,7 +1,18 @@
 package com.orders.api.exception;
 
 public class CreateOrderException extends RuntimeException {
+    private final String option; // "karaoke" or "table" when nothing was free, otherwise null
+
     public CreateOrderException(String msg) {
+        this(msg, null);
+    }
+
+    public CreateOrderException(String msg, String option) {
         super(msg);
+        this.option = option;
+    }
+
+    public String getOption() {
+        return option;
     }
 }
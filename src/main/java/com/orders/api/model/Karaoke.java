@@ -2,12 +2,17 @@ package com.orders.api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "karaoke")
+@Cacheable // only when the l2cache profile turns the second-level cache on
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "inventory.karaoke")
+@Table(name = "karaoke", indexes = @Index(name = "idx_karaoke_booked_seats", columnList = "booked, seats"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -21,4 +26,9 @@ public class Karaoke
     private Integer room_num;
     private Integer seats;
     private Boolean booked;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version; // rows seeded by data.sql start at 0
 }
@@ -5,12 +5,17 @@ import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_karaoke_slot", columnList = "karaoke_id, timestamp"),
+        @Index(name = "idx_orders_table_slot", columnList = "table_id, timestamp"),
+        @Index(name = "idx_orders_status_timestamp", columnList = "status, timestamp, order_id")})
 @Data
 @Builder
 @AllArgsConstructor
@@ -22,15 +27,22 @@ public class Order
     private Long order_id;
     @Temporal(TemporalType.TIMESTAMP)
     private LocalDateTime timestamp;
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime end_time; // null for exclusive (booked flag) reservations
     private Integer people_count;
     private Boolean status;
-    @ManyToOne
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "table_id")
     private RealTable realTable;
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "karaoke_id")
     private Karaoke karaoke;
 }
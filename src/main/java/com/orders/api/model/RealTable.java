@@ -2,12 +2,17 @@ package com.orders.api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "realtable")
+@Cacheable // only when the l2cache profile turns the second-level cache on
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "inventory.realtable")
+@Table(name = "realtable", indexes = @Index(name = "idx_realtable_booked_seats", columnList = "booked, seats"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -21,4 +26,9 @@ public class RealTable
     private Integer table_num;
     private Integer seats;
     private Boolean booked;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
 }
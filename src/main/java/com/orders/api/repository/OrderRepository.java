@@ -2,18 +2,116 @@ package com.orders.api.repository;
 
 import com.orders.api.model.Order;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order,Long>
 {
-    default List<Order> ordersToConfirm() {
-        return findAll()
-                .stream()
-                .filter(x -> !x.getStatus())
-                .toList();
+    // pending queue, served by idx_orders_status_timestamp
+    @EntityGraph(attributePaths = {"karaoke", "realTable"})
+    @Query("SELECT o FROM Order o WHERE o.status = false ORDER BY o.timestamp, o.order_id")
+    List<Order> findPending(Pageable pageable);
+
+    // keyset continuation after a (timestamp, order_id) cursor, valid even once that order is gone
+    @EntityGraph(attributePaths = {"karaoke", "realTable"})
+    @Query("SELECT o FROM Order o WHERE o.status = false AND (o.timestamp > :afterTimestamp OR " +
+            "(o.timestamp = :afterTimestamp AND o.order_id > :after)) " +
+            "ORDER BY o.timestamp, o.order_id")
+    List<Order> findPendingAfter(@Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                 @Param("after") Long after,
+                                 Pageable pageable);
+
+    boolean existsByStatus(Boolean status);
+
+    // id and status only, bulk confirmation never loads entities
+    @Query("SELECT o.order_id AS id, o.status AS status FROM Order o WHERE o.order_id IN :ids")
+    List<OrderStatus> findStatuses(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = true, o.version = o.version + 1 " +
+            "WHERE o.order_id IN :ids AND o.status = false")
+    int confirmAll(@Param("ids") Collection<Long> ids);
+
+    // what bulk cancellation has to give back, without loading entities
+    @Query("SELECT o.order_id AS id, o.timestamp AS startsAt, o.end_time AS endsAt, " +
+            "k.karaoke_id AS karaokeId, k.seats AS karaokeSeats, t.table_id AS tableId, t.seats AS tableSeats " +
+            "FROM Order o LEFT JOIN o.karaoke k LEFT JOIN o.realTable t WHERE o.order_id IN :ids")
+    List<OrderResources> findResources(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o.order_id AS id, o.timestamp AS startsAt, o.end_time AS endsAt, " +
+            "k.karaoke_id AS karaokeId, k.seats AS karaokeSeats, t.table_id AS tableId, t.seats AS tableSeats " +
+            "FROM Order o LEFT JOIN o.karaoke k LEFT JOIN o.realTable t " +
+            "WHERE o.timestamp >= :from AND o.timestamp < :to")
+    List<OrderResources> findResourcesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.order_id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    // associations are lazy, cancellation needs both resources in the same select
+    @EntityGraph(attributePaths = {"karaoke", "realTable"})
+    @Query("SELECT o FROM Order o WHERE o.order_id = :id")
+    Optional<Order> findWithResourcesById(@Param("id") Long id);
+
+    // admin listing, keyset on the primary key so no page needs an OFFSET or COUNT(*)
+    @EntityGraph(attributePaths = {"karaoke", "realTable"})
+    @Query("SELECT o FROM Order o WHERE (:after IS NULL OR o.order_id > :after) " +
+            "AND (:status IS NULL OR o.status = :status) " +
+            "AND (:from IS NULL OR o.timestamp >= :from) " +
+            "AND (:to IS NULL OR o.timestamp < :to) " +
+            "ORDER BY o.order_id")
+    List<Order> findPage(@Param("after") Long after,
+                         @Param("status") Boolean status,
+                         @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to,
+                         Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.end_time > :since")
+    List<Order> findSlotsEndingAfter(@Param("since") LocalDateTime since);
+
+    // rows are pulled through a server-side cursor (useCursorFetch=true) instead of being buffered
+    @EntityGraph(attributePaths = {"karaoke", "realTable"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM Order o ORDER BY o.order_id")
+    Stream<Order> streamAll();
+
+    interface OrderStatus
+    {
+        Long getId();
+
+        Boolean getStatus();
+    }
+
+    interface OrderResources
+    {
+        Long getId();
+
+        LocalDateTime getStartsAt();
+
+        LocalDateTime getEndsAt();
+
+        Long getKaraokeId();
+
+        Integer getKaraokeSeats();
+
+        Long getTableId();
+
+        Integer getTableSeats();
     }
 }
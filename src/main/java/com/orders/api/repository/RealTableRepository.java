@@ -1,19 +1,114 @@
 package com.orders.api.repository;
 
+import com.orders.api.model.Order;
 import com.orders.api.model.RealTable;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RealTableRepository extends JpaRepository<RealTable,Long>
 {
+    // query cache hints only take effect under the l2cache profile
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "inventory.queries")})
+    List<RealTable> findAll();
+
+    // smallest free table that fits, served by idx_realtable_booked_seats
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "inventory.queries")})
+    @Query("SELECT t FROM RealTable t WHERE t.booked = false AND t.seats >= :peopleCount " +
+            "ORDER BY t.seats, t.table_id")
+    List<RealTable> findBestFit(@Param("peopleCount") int peopleCount, Pageable pageable);
+
     default Optional<RealTable> findAvailable(int peopleCount) {
-        return findAll()
+        return findBestFit(peopleCount, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    // FOR UPDATE SKIP LOCKED: concurrent bookers each lock a different row instead of waiting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT t FROM RealTable t WHERE t.booked = false AND t.seats >= :peopleCount " +
+            "ORDER BY t.seats, t.table_id")
+    List<RealTable> findBestFitForUpdate(@Param("peopleCount") int peopleCount, Pageable pageable);
+
+    // must run inside the booking transaction, the row stays locked until it commits
+    default Optional<RealTable> claimAvailable(int peopleCount) {
+        return findBestFitForUpdate(peopleCount, PageRequest.of(0, 1))
                 .stream()
-                .filter(x -> !x.getBooked() && x.getSeats() >= peopleCount)
                 .findFirst();
     }
+
+    // 1 when this caller flipped the flag, 0 when someone else booked the row first;
+    // clears the context so the findById that follows sees the new flag and version
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RealTable t SET t.booked = true, t.version = t.version + 1 " +
+            "WHERE t.table_id = :id AND t.booked = false")
+    int markBooked(@Param("id") Long id);
+
+    // frees what the given exclusive (end_time IS NULL) orders hold, slotted orders never set the flag
+    @Modifying
+    @Query("UPDATE RealTable t SET t.booked = false, t.version = t.version + 1 " +
+            "WHERE t.table_id IN (SELECT o.realTable.table_id FROM Order o " +
+            "WHERE o.order_id IN :orderIds AND o.end_time IS NULL)")
+    int releaseForOrders(@Param("orderIds") Collection<Long> orderIds);
+
+    // free for the whole [start, end) window, served by idx_orders_table_slot
+    @Query("SELECT t FROM RealTable t WHERE t.booked = false AND t.seats >= :peopleCount AND NOT EXISTS (" +
+            "SELECT o FROM Order o WHERE o.realTable = t AND o.timestamp < :end AND o.end_time > :start) " +
+            "ORDER BY t.seats, t.table_id")
+    List<RealTable> findBestFit(@Param("peopleCount") int peopleCount,
+                                @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end,
+                                Pageable pageable);
+
+    default Optional<RealTable> findAvailable(int peopleCount, LocalDateTime start, LocalDateTime end) {
+        return findBestFit(peopleCount, start, end, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RealTable t WHERE t.table_id = :id")
+    Optional<RealTable> lockById(@Param("id") Long id);
+
+    // a locking read, so it sees orders committed by other nodes after this transaction began
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT o FROM Order o WHERE o.realTable.table_id = :id AND o.timestamp < :end AND o.end_time > :start")
+    List<Order> findOverlapping(@Param("id") Long id,
+                                @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end,
+                                Pageable pageable);
+
+    /**
+     * The check other nodes cannot race: locks the table until the booking commits, then looks
+     * for an order already holding any part of [start, end). Empty when the window is taken.
+     */
+    default Optional<RealTable> lockIfFree(Long id, LocalDateTime start, LocalDateTime end) {
+        return lockById(id)
+                .filter(x -> findOverlapping(id, start, end, PageRequest.of(0, 1)).isEmpty());
+    }
 }
@@ -0,0 +1,38 @@
+package com.orders.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bookings refused because no karaoke room or table was free, by option. Counted here rather
+ * than in the exception handler so that refused entries of a batch are included.
+ */
+@Component
+public class BookingMetrics implements MeterBinder
+{
+    private final Map<String, LongAdder> allocationFailures = Map.of(
+            "karaoke", new LongAdder(),
+            "table", new LongAdder());
+
+    public void allocationFailed(String option) {
+        LongAdder failures = option == null ? null : allocationFailures.get(option);
+        if (failures != null) {
+            failures.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        allocationFailures.forEach((option, failures) ->
+                FunctionCounter.builder("orders.allocation.failures", failures, LongAdder::sum)
+                        .tag("option", option)
+                        .description("Bookings refused because no resource of this option was free")
+                        .register(registry));
+    }
+}
@@ -0,0 +1,63 @@
+package com.orders.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic change counters for the inventory (karaoke rooms and tables) and for orders,
+ * bumped once the mutating transaction commits. They back the variants cache and the
+ * strong ETags of the polling endpoints; the epoch keeps tags unique across restarts.
+ * The counters only see changes made through this process, so tags also carry a time bucket
+ * {@code max-age} wide: a change made by another node or in SQL shows up within one bucket.
+ */
+@Component
+public class ChangeTracker
+{
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long maxAgeMillis;
+    private final AtomicLong inventory = new AtomicLong();
+    private final AtomicLong orders = new AtomicLong();
+    private final List<Runnable> inventoryListeners = new CopyOnWriteArrayList<>();
+
+    public ChangeTracker(@Value("${orders.variants-cache.max-age:60s}") Duration maxAge) {
+        this.maxAgeMillis = Math.max(maxAge.toMillis(), 1);
+    }
+
+    public long inventoryVersion() {
+        return inventory.get();
+    }
+
+    /** Number of the current max-age bucket; cached data must not outlive the bucket it was read in. */
+    public long timeBucket() {
+        return System.currentTimeMillis() / maxAgeMillis;
+    }
+
+    public String inventoryETag() {
+        return "\"i-" + epoch + "-" + inventory.get() + "-" + timeBucket() + "\"";
+    }
+
+    public String ordersETag() {
+        return "\"o-" + epoch + "-" + orders.get() + "-" + timeBucket() + "\"";
+    }
+
+    public void inventoryChanged() {
+        TransactionHooks.onCommit(() -> {
+            inventory.incrementAndGet();
+            inventoryListeners.forEach(Runnable::run);
+        });
+    }
+
+    /** Called on the committing thread after every inventory change; keep it short. */
+    public void onInventoryChange(Runnable listener) {
+        inventoryListeners.add(listener);
+    }
+
+    public void ordersChanged() {
+        TransactionHooks.onCommit(orders::incrementAndGet);
+    }
+}
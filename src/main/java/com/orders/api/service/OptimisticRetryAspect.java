@@ -0,0 +1,127 @@
+package com.orders.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries {@link RetryOnConflict} methods on optimistic-lock failures with capped exponential
+ * backoff and full jitter. Ordered ahead of the transaction interceptor so every attempt runs
+ * in a fresh transaction, and just inside the {@code @Timed} aspect so the booking timers cover
+ * the whole call. Per-method counters are published as {@code orders.retry.*} meters,
+ * registered as each method is first called.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class OptimisticRetryAspect implements MeterBinder
+{
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final Map<String, RetryStats> stats = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public OptimisticRetryAspect(@Value("${orders.retry.max-attempts:4}") int maxAttempts,
+                                 @Value("${orders.retry.backoff:10ms}") Duration backoff,
+                                 @Value("${orders.retry.max-backoff:200ms}") Duration maxBackoff) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.backoffNanos = backoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    @Around("@annotation(com.orders.api.service.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        RetryStats methodStats = stats.computeIfAbsent(joinPoint.getSignature().getName(), this::newStats);
+        methodStats.calls.increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    methodStats.exhausted.increment();
+                    log.warn("{} still conflicting after {} attempts", joinPoint.getSignature().toShortString(), attempt);
+                    throw e;
+                }
+                methodStats.retries.increment();
+                sleep(attempt);
+            }
+        }
+    }
+
+    private void sleep(int attempt) throws InterruptedException {
+        long ceiling = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling > 0) {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        stats.forEach((method, methodStats) -> register(registry, method, methodStats));
+    }
+
+    private RetryStats newStats(String method) {
+        RetryStats methodStats = new RetryStats();
+        MeterRegistry current = registry;
+        if (current != null) {
+            register(current, method, methodStats);
+        }
+        return methodStats;
+    }
+
+    private static void register(MeterRegistry registry, String method, RetryStats methodStats) {
+        FunctionCounter.builder("orders.retry.calls", methodStats, RetryStats::calls)
+                .tag("method", method).register(registry);
+        FunctionCounter.builder("orders.retry.retries", methodStats, RetryStats::retries)
+                .tag("method", method).register(registry);
+        FunctionCounter.builder("orders.retry.exhausted", methodStats, RetryStats::exhausted)
+                .tag("method", method).register(registry);
+    }
+
+    /**
+     * Counters keyed by service method name.
+     */
+    public Map<String, RetryStats> stats() {
+        return stats;
+    }
+
+    public static final class RetryStats
+    {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long retries() {
+            return retries.sum();
+        }
+
+        public long exhausted() {
+            return exhausted.sum();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.orders.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orders.api.model.Order;
+import com.orders.api.repository.OrderRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole order history as newline-delimited JSON while keeping memory flat:
+ * rows come from a database cursor, each entity is written straight to JSON in the
+ * {@link com.orders.api.dto.response.OrderDTO} shape, and every {@value #FLUSH_EVERY} rows the
+ * output is flushed and the persistence context cleared, users and resources included.
+ */
+@Service
+@AllArgsConstructor
+public class OrderExportService
+{
+    private static final int FLUSH_EVERY = 500;
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportOrders(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Order.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<Order> orders = orderRepository.streamAll();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            int written = 0;
+            for (Iterator<Order> iterator = orders.iterator(); iterator.hasNext(); ) {
+                Order order = iterator.next();
+                writer.writeValue(generator, order);
+                generator.writeRaw('\n');
+
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                    entityManager.clear(); // read-only, nothing to lose
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.orders.api.service;
+
+import com.orders.api.configuration.datasource.StaleReads;
+import com.orders.api.dto.response.OrderDetailsDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Single-entry cache of the {@code /orders/variants} snapshot. A snapshot is served only while
+ * the inventory version and the {@link ChangeTracker#timeBucket() time bucket} it was loaded in
+ * are current, so it never outlives the ETag it is served under; {@code max-age} is a safety net
+ * for rows changed outside the service. Loads that may come from a lagging replica are never stored:
+ * they could predate the version they would be stored under.
+ */
+@Component
+public class OrderVariantsCache
+{
+    private final ChangeTracker changeTracker;
+    private final long maxAgeNanos;
+    private volatile Snapshot snapshot;
+
+    public OrderVariantsCache(ChangeTracker changeTracker,
+                              @Value("${orders.variants-cache.max-age:60s}") Duration maxAge) {
+        this.changeTracker = changeTracker;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public OrderDetailsDTO get(Supplier<OrderDetailsDTO> loader) {
+        long current = changeTracker.inventoryVersion();
+        long bucket = changeTracker.timeBucket();
+        Snapshot cached = snapshot;
+        if (cached != null && cached.version() == current && cached.bucket() == bucket
+                && System.nanoTime() - cached.loadedAt() < maxAgeNanos) {
+            return cached.details();
+        }
+
+        OrderDetailsDTO details = loader.get();
+        if (changeTracker.inventoryVersion() == current && !StaleReads.allowed()) { // nothing committed while loading
+            snapshot = new Snapshot(current, bucket, System.nanoTime(), details);
+        }
+        return details;
+    }
+
+    private record Snapshot(long version, long bucket, long loadedAt, OrderDetailsDTO details) {
+    }
+}
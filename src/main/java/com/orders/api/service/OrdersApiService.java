@@ -1,8 +1,11 @@
 package com.orders.api.service;
 
 import com.orders.api.configuration.Mapper;
+import com.orders.api.dto.request.OrderCancelDTO;
 import com.orders.api.dto.request.OrderCreateDTO;
+import com.orders.api.dto.request.OrdersFilterDTO;
 import com.orders.api.dto.response.*;
+import com.orders.api.exception.CancelOrdersException;
 import com.orders.api.exception.CreateOrderException;
 import com.orders.api.exception.GetOrdersException;
 import com.orders.api.model.Karaoke;
@@ -14,26 +17,52 @@ import com.orders.api.repository.OrderRepository;
 import com.orders.api.repository.RealTableRepository;
 import com.orders.api.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class OrdersApiService
 {
+    public static final int MAX_PAGE_SIZE = 200;
+    // same cap as the ids list, keeps the IN lists of a range cancel well under the placeholder limit
+    public static final int MAX_CANCEL_SIZE = 500;
+
     private final UserRepository userRepository;
     private final RealTableRepository realTableRepository;
     private final KaraokeRepository karaokeRepository;
     private final OrderRepository orderRepository;
+    private final SeatInventory seatInventory;
+    private final ReservationSchedule reservationSchedule;
+    private final OrderVariantsCache orderVariantsCache;
+    private final ChangeTracker changeTracker;
+    private final BookingMetrics bookingMetrics;
 
     public OrderDetailsDTO getOrderVariants()
+    {
+        return orderVariantsCache.get(this::loadOrderVariants);
+    }
+
+    private OrderDetailsDTO loadOrderVariants()
     {
         List<KaraokeDTO> karaokeDTOS = karaokeRepository.findAll()
                 .stream()
@@ -47,6 +76,7 @@ public class OrdersApiService
         return new OrderDetailsDTO(karaokeDTOS,realTableDTOS);
     }
 
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsers(){
         return userRepository.findAll()
                 .stream()
@@ -54,53 +84,240 @@ public class OrdersApiService
                 .toList();
     }
 
+    @Timed(value = "orders.booking", extraTags = {"operation", "create"}, histogram = true)
+    @RetryOnConflict
     @Transactional
     public OrderHistoryDTO createOrder(OrderCreateDTO orderCreateDTO, User user)
     {
-        Order order = orderFactory(orderCreateDTO);
-        order.setUser(user);
-        order.setTimestamp(orderCreateDTO.getTimestamp());
-        order.setPeople_count(orderCreateDTO.getPeople_count());
-        order.setStatus(false);
+        Order order = orderFactory(orderCreateDTO, user);
 
         orderRepository.save(order);
+        changeTracker.inventoryChanged();
+        changeTracker.ordersChanged();
 
         return Mapper.mapToOrderHistory(order);
     }
 
-    private Order orderFactory(OrderCreateDTO orderCreateDTO)
+    /**
+     * Books every entry it can in one transaction. Seats are claimed from the in-memory indexes
+     * for all entries first, so their rows are read with one select per resource table and written
+     * back with the orders in one batch; an entry the indexes cannot serve takes the single-order
+     * path. Slotted claims still lock and check their row one by one, the only guard against
+     * another node booking the same window. An entry that cannot be served gives back whatever
+     * it had already claimed and is reported by its index; the others still commit.
+     */
+    @Timed(value = "orders.booking", extraTags = {"operation", "create-batch"}, histogram = true)
+    @RetryOnConflict
+    @Transactional
+    public List<OrderBatchResultDTO> createOrders(List<OrderCreateDTO> orderCreateDTOS, User user)
     {
+        List<Draft> drafts = new ArrayList<>(orderCreateDTOS.size());
+        for (OrderCreateDTO orderCreateDTO : orderCreateDTOS) {
+            drafts.add(draft(orderCreateDTO));
+        }
+
+        Map<Long, Karaoke> karaokes = new HashMap<>();
+        Map<Long, RealTable> tables = new HashMap<>();
+        if (!reservationSchedule.isEnabled()) {
+            karaokeRepository.findAllById(drafts.stream().map(Draft::karaokeId).filter(Objects::nonNull).toList())
+                    .forEach(x -> karaokes.put(x.getKaraoke_id(), x));
+            realTableRepository.findAllById(drafts.stream().map(Draft::tableId).filter(Objects::nonNull).toList())
+                    .forEach(x -> tables.put(x.getTable_id(), x));
+        }
+
+        List<Order> orders = new ArrayList<>(orderCreateDTOS.size());
+        List<OrderBatchResultDTO> results = new ArrayList<>(orderCreateDTOS.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            try {
+                Order order = orderFactory(drafts.get(i), karaokes, tables, user);
+                orders.add(order);
+                results.add(OrderBatchResultDTO.builder().index(i).order(Mapper.mapToOrderHistory(order)).build());
+            } catch (CreateOrderException e) {
+                results.add(OrderBatchResultDTO.builder().index(i).error(e.getMessage()).build());
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            if (!reservationSchedule.isEnabled()) {
+                // the version check on these updates catches a row booked by another node
+                karaokeRepository.saveAll(orders.stream().map(Order::getKaraoke).filter(Objects::nonNull).toList());
+                realTableRepository.saveAll(orders.stream().map(Order::getRealTable).filter(Objects::nonNull).toList());
+            }
+            orderRepository.saveAll(orders); // one batch under the "batch" profile
+            changeTracker.inventoryChanged();
+            changeTracker.ordersChanged();
+        }
+        return results;
+    }
+
+    // a batch entry with the ids the indexes handed out for it, null where they had nothing
+    private record Draft(OrderCreateDTO request, LocalDateTime end, CreateOrderException error,
+                         Long karaokeId, Long tableId) {
+    }
+
+    private Draft draft(OrderCreateDTO orderCreateDTO)
+    {
+        List<String> options = orderCreateDTO.getOrder();
+        if (options.size() != new HashSet<>(options).size()
+                || !List.of("karaoke", "table").containsAll(options)) {
+            return new Draft(orderCreateDTO, null, new CreateOrderException("The wrong option was selected or" +
+                    " the same option was selected twice!"), null, null);
+        }
+
+        int peopleCount = orderCreateDTO.getPeople_count();
+        LocalDateTime start = orderCreateDTO.getTimestamp();
+        LocalDateTime end = reservationSchedule.isEnabled() ? reservationSchedule.slotEnd(start) : null;
+        Optional<Long> karaokeId = !options.contains("karaoke") ? Optional.empty() : end != null
+                ? reservationSchedule.claimKaraoke(peopleCount, start, end)
+                : seatInventory.pollKaraoke(peopleCount);
+        Optional<Long> tableId = !options.contains("table") ? Optional.empty() : end != null
+                ? reservationSchedule.claimTable(peopleCount, start, end)
+                : seatInventory.pollTable(peopleCount);
+        return new Draft(orderCreateDTO, end, null, karaokeId.orElse(null), tableId.orElse(null));
+    }
+
+    private Order orderFactory(Draft draft, Map<Long, Karaoke> karaokes, Map<Long, RealTable> tables, User user)
+    {
+        if (draft.error() != null) {
+            throw draft.error();
+        }
+
+        OrderCreateDTO orderCreateDTO = draft.request();
         Order order = new Order();
+        order.setEnd_time(draft.end());
+        // a claimed row that is already booked was taken by another node, the index was stale
+        LocalDateTime start = orderCreateDTO.getTimestamp();
+        Karaoke karaoke = draft.karaokeId() == null ? null : draft.end() != null
+                ? karaokeRepository.lockIfFree(draft.karaokeId(), start, draft.end()).orElse(null)
+                : karaokes.get(draft.karaokeId());
+        if (karaoke != null && (draft.end() != null || !karaoke.getBooked())) {
+            order.setKaraoke(karaoke);
+        }
+        RealTable table = draft.tableId() == null ? null : draft.end() != null
+                ? realTableRepository.lockIfFree(draft.tableId(), start, draft.end()).orElse(null)
+                : tables.get(draft.tableId());
+        if (table != null && (draft.end() != null || !table.getBooked())) {
+            order.setRealTable(table);
+        }
+        if (draft.end() == null) {
+            Optional.ofNullable(order.getKaraoke()).ifPresent(x -> x.setBooked(true));
+            Optional.ofNullable(order.getRealTable()).ifPresent(x -> x.setBooked(true));
+        }
 
-        for (String option : orderCreateDTO.getOrder())
-        {
-            if ("karaoke".equals(option) && order.getKaraoke() == null)
-            {
-                Karaoke karaoke = karaokeRepository.findAvailable(orderCreateDTO.getPeople_count())
-                        .orElseThrow(() -> new CreateOrderException("There are no free karaoke seats!"));
-                karaoke.setBooked(true);
-                order.setKaraoke(karaoke);
-                karaokeRepository.save(karaoke);
-            } else if ("table".equals(option) && order.getRealTable() == null)
-            {
-                RealTable table = realTableRepository.findAvailable(orderCreateDTO.getPeople_count())
-                        .orElseThrow(() -> new CreateOrderException("There are no free table seats!"));
-                table.setBooked(true);
-                order.setRealTable(table);
-                realTableRepository.save(table);
-            } else
+        try {
+            if (orderCreateDTO.getOrder().contains("karaoke") && order.getKaraoke() == null) {
+                order.setKaraoke(allocateKaraoke(orderCreateDTO, draft.end()));
+            }
+            if (orderCreateDTO.getOrder().contains("table") && order.getRealTable() == null) {
+                order.setRealTable(allocateTable(orderCreateDTO, draft.end()));
+            }
+        } catch (CreateOrderException e) {
+            release(order);
+            bookingMetrics.allocationFailed(e.getOption());
+            throw e;
+        }
+
+        order.setUser(user);
+        order.setTimestamp(orderCreateDTO.getTimestamp());
+        order.setPeople_count(orderCreateDTO.getPeople_count());
+        order.setStatus(false);
+        return order;
+    }
+
+    private Order orderFactory(OrderCreateDTO orderCreateDTO, User user)
+    {
+        Order order = new Order();
+        if (reservationSchedule.isEnabled()) {
+            order.setEnd_time(reservationSchedule.slotEnd(orderCreateDTO.getTimestamp()));
+        }
+
+        try {
+            for (String option : orderCreateDTO.getOrder())
             {
-                throw new CreateOrderException("The wrong option was selected or" +
-                        " the same option was selected twice!");
+                if ("karaoke".equals(option) && order.getKaraoke() == null)
+                {
+                    order.setKaraoke(allocateKaraoke(orderCreateDTO, order.getEnd_time()));
+                } else if ("table".equals(option) && order.getRealTable() == null)
+                {
+                    order.setRealTable(allocateTable(orderCreateDTO, order.getEnd_time()));
+                } else
+                {
+                    throw new CreateOrderException("The wrong option was selected or" +
+                            " the same option was selected twice!");
+                }
             }
+        } catch (CreateOrderException e) {
+            release(order); // the first option may already be claimed
+            bookingMetrics.allocationFailed(e.getOption());
+            throw e;
         }
 
+        order.setUser(user);
+        order.setTimestamp(orderCreateDTO.getTimestamp());
+        order.setPeople_count(orderCreateDTO.getPeople_count());
+        order.setStatus(false);
         return order;
     }
 
-    public List<OrderDTO> getOrdersToConfirm() {
-        List<Order> ordersToConfirm = orderRepository.ordersToConfirm();
-        if (ordersToConfirm.isEmpty()) {
+    private Karaoke allocateKaraoke(OrderCreateDTO orderCreateDTO, LocalDateTime end)
+    {
+        int peopleCount = orderCreateDTO.getPeople_count();
+        LocalDateTime start = orderCreateDTO.getTimestamp();
+        if (end != null) {
+            // a claim the database refuses was booked by another node; it stays reserved here
+            return reservationSchedule.claimKaraoke(peopleCount, start, end)
+                    .flatMap(id -> karaokeRepository.lockIfFree(id, start, end))
+                    .or(() -> karaokeRepository.findAvailable(peopleCount, start, end)
+                            .map(x -> karaokeRepository.lockIfFree(x.getKaraoke_id(), start, end)
+                                    .orElseThrow(() -> new OptimisticLockingFailureException(
+                                            "Karaoke room booked concurrently")))
+                            .map(x -> {
+                                reservationSchedule.reserveKaraoke(x.getKaraoke_id(), start, end);
+                                return x;
+                            }))
+                    .orElseThrow(() -> new CreateOrderException("There are no free karaoke seats!", "karaoke"));
+        }
+
+        Karaoke karaoke = seatInventory.claimKaraoke(peopleCount)
+                .or(() -> karaokeRepository.claimAvailable(peopleCount))
+                .orElseThrow(() -> new CreateOrderException("There are no free karaoke seats!", "karaoke"));
+        karaoke.setBooked(true);
+        karaokeRepository.save(karaoke);
+        return karaoke;
+    }
+
+    private RealTable allocateTable(OrderCreateDTO orderCreateDTO, LocalDateTime end)
+    {
+        int peopleCount = orderCreateDTO.getPeople_count();
+        LocalDateTime start = orderCreateDTO.getTimestamp();
+        if (end != null) {
+            return reservationSchedule.claimTable(peopleCount, start, end)
+                    .flatMap(id -> realTableRepository.lockIfFree(id, start, end))
+                    .or(() -> realTableRepository.findAvailable(peopleCount, start, end)
+                            .map(x -> realTableRepository.lockIfFree(x.getTable_id(), start, end)
+                                    .orElseThrow(() -> new OptimisticLockingFailureException(
+                                            "Table booked concurrently")))
+                            .map(x -> {
+                                reservationSchedule.reserveTable(x.getTable_id(), start, end);
+                                return x;
+                            }))
+                    .orElseThrow(() -> new CreateOrderException("There are no free table seats!", "table"));
+        }
+
+        RealTable table = seatInventory.claimTable(peopleCount)
+                .or(() -> realTableRepository.claimAvailable(peopleCount))
+                .orElseThrow(() -> new CreateOrderException("There are no free table seats!", "table"));
+        table.setBooked(true);
+        realTableRepository.save(table);
+        return table;
+    }
+
+    public List<OrderDTO> getOrdersToConfirm(LocalDateTime afterTimestamp, Long after, int limit) {
+        Pageable page = PageRequest.of(0, pageSize(limit));
+        List<Order> ordersToConfirm = afterTimestamp == null
+                ? orderRepository.findPending(page)
+                : orderRepository.findPendingAfter(afterTimestamp, after == null ? 0L : after, page);
+        if (ordersToConfirm.isEmpty() && (afterTimestamp == null || !orderRepository.existsByStatus(false))) {
             throw new GetOrdersException("No order needs confirmation!");
         }
 
@@ -109,6 +326,13 @@ public class OrdersApiService
                 .toList();
     }
 
+    private static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    @Timed(value = "orders.booking", extraTags = {"operation", "confirm"}, histogram = true)
+    @RetryOnConflict
+    @Transactional
     public ResponseEntity<String> confirmOrder(Long id) {
         Optional<Order> potentialOrder = orderRepository.findById(id);
         if (potentialOrder.isEmpty()) {
@@ -122,13 +346,59 @@ public class OrdersApiService
 
         order.setStatus(true);
         orderRepository.save(order);
+        changeTracker.ordersChanged();
 
         return new ResponseEntity<>("Order successfully confirmed!", HttpStatus.OK);
     }
 
+    /**
+     * Confirms all pending orders among {@code ids} with one update. If the update touches fewer
+     * rows than were pending a moment earlier, someone else got there first and the whole call
+     * is retried, so the report always matches what this call changed.
+     */
+    @Timed(value = "orders.booking", extraTags = {"operation", "confirm-bulk"}, histogram = true)
+    @RetryOnConflict
+    @Transactional
+    public OrderConfirmResultDTO confirmOrders(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Boolean> statuses = new HashMap<>();
+        for (OrderRepository.OrderStatus order : orderRepository.findStatuses(requested)) {
+            statuses.put(order.getId(), order.getStatus());
+        }
+
+        List<Long> confirmed = new ArrayList<>();
+        List<Long> alreadyConfirmed = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Boolean status = statuses.get(id);
+            if (status == null) {
+                missing.add(id);
+            } else if (status) {
+                alreadyConfirmed.add(id);
+            } else {
+                confirmed.add(id);
+            }
+        }
+
+        if (!confirmed.isEmpty()) {
+            if (orderRepository.confirmAll(confirmed) != confirmed.size()) {
+                throw new OptimisticLockingFailureException("Orders changed while being confirmed");
+            }
+            changeTracker.ordersChanged();
+        }
+
+        return OrderConfirmResultDTO.builder()
+                .confirmed(confirmed)
+                .already_confirmed(alreadyConfirmed)
+                .missing(missing)
+                .build();
+    }
+
+    @Timed(value = "orders.booking", extraTags = {"operation", "cancel"}, histogram = true)
+    @RetryOnConflict
     @Transactional
     public ResponseEntity<String> cancelOrder(Long id){
-        Optional<Order> orderToCancel = orderRepository.findById(id);
+        Optional<Order> orderToCancel = orderRepository.findWithResourcesById(id);
 
         if (orderToCancel.isEmpty()){
             return new ResponseEntity<>("The order with this ID does not exist", HttpStatus.BAD_REQUEST);
@@ -136,21 +406,104 @@ public class OrdersApiService
 
         Order order = orderToCancel.get();
 
+        release(order);
+        orderRepository.delete(order);
+        changeTracker.inventoryChanged();
+        changeTracker.ordersChanged();
+        return new ResponseEntity<>("Order canceled",HttpStatus.OK);
+    }
+
+    /**
+     * Cancels the selected orders with a handful of set-based statements: one read of what they
+     * hold, one update per resource table and one delete. The in-memory indexes get the resources
+     * back after commit. A range holding more than {@link #MAX_CANCEL_SIZE} orders is refused.
+     */
+    @Timed(value = "orders.booking", extraTags = {"operation", "cancel-bulk"}, histogram = true)
+    @RetryOnConflict
+    @Transactional
+    public OrderCancelResultDTO cancelOrders(OrderCancelDTO selection) {
+        Set<Long> requested = selection.getIds() == null ? Set.of() : new LinkedHashSet<>(selection.getIds());
+        List<OrderRepository.OrderResources> orders = selection.getIds() == null
+                ? orderRepository.findResourcesBetween(selection.getFrom(), selection.getTo(),
+                        PageRequest.of(0, MAX_CANCEL_SIZE + 1))
+                : orderRepository.findResources(requested);
+        if (orders.size() > MAX_CANCEL_SIZE) {
+            throw new CancelOrdersException("More than " + MAX_CANCEL_SIZE + " orders in the range, narrow it down!");
+        }
+
+        List<Long> canceled = orders.stream()
+                .map(OrderRepository.OrderResources::getId)
+                .toList();
+        Set<Long> found = new HashSet<>(canceled);
+        if (!canceled.isEmpty()) {
+            karaokeRepository.releaseForOrders(canceled);
+            realTableRepository.releaseForOrders(canceled);
+            if (orderRepository.deleteAllByIds(canceled) != canceled.size()) {
+                throw new OptimisticLockingFailureException("Orders changed while being canceled");
+            }
+            orders.forEach(this::release);
+            changeTracker.inventoryChanged();
+            changeTracker.ordersChanged();
+        }
+
+        return OrderCancelResultDTO.builder()
+                .canceled(canceled)
+                .missing(requested.stream().filter(x -> !found.contains(x)).toList())
+                .build();
+    }
+
+    private void release(OrderRepository.OrderResources order) {
+        if (order.getKaraokeId() != null) {
+            if (order.getEndsAt() != null) {
+                reservationSchedule.releaseKaraoke(order.getKaraokeId(), order.getStartsAt());
+            } else {
+                seatInventory.releaseKaraoke(order.getKaraokeId(), order.getKaraokeSeats());
+            }
+        }
+        if (order.getTableId() != null) {
+            if (order.getEndsAt() != null) {
+                reservationSchedule.releaseTable(order.getTableId(), order.getStartsAt());
+            } else {
+                seatInventory.releaseTable(order.getTableId(), order.getTableSeats());
+            }
+        }
+    }
+
+    private void release(Order order) {
+        if (order.getEnd_time() != null) {
+            releaseSlots(order);
+        } else {
+            releaseResources(order);
+        }
+    }
+
+    private void releaseSlots(Order order) {
+        if (order.getKaraoke() != null) {
+            reservationSchedule.releaseKaraoke(order.getKaraoke().getKaraoke_id(), order.getTimestamp());
+        }
+        if (order.getRealTable() != null) {
+            reservationSchedule.releaseTable(order.getRealTable().getTable_id(), order.getTimestamp());
+        }
+    }
+
+    private void releaseResources(Order order) {
         if (order.getKaraoke() != null){
             order.getKaraoke().setBooked(false);
             karaokeRepository.save(order.getKaraoke());
+            seatInventory.releaseKaraoke(order.getKaraoke());
         }
         if (order.getRealTable() != null){
             order.getRealTable().setBooked(false);
             realTableRepository.save(order.getRealTable());
+            seatInventory.releaseTable(order.getRealTable());
         }
-        orderRepository.delete(order);
-        return new ResponseEntity<>("Order canceled",HttpStatus.OK);
     }
 
-    public List<OrderDTO> getOrders() {
-        List<Order> orders = orderRepository.findAll();
-        if (orders.isEmpty()) {
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrders(OrdersFilterDTO filter) {
+        List<Order> orders = orderRepository.findPage(filter.getAfter(), filter.getStatus(),
+                filter.getFrom(), filter.getTo(), PageRequest.of(0, pageSize(filter.getLimit())));
+        if (orders.isEmpty() && filter.getAfter() == null) {
             throw new GetOrdersException("No orders!");
         }
 
@@ -0,0 +1,327 @@
+package com.orders.api.service;
+
+import com.orders.api.model.Order;
+import com.orders.api.repository.KaraokeRepository;
+import com.orders.api.repository.OrderRepository;
+import com.orders.api.repository.RealTableRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Time-slotted reservations: every karaoke room and table keeps a sorted map of its
+ * reserved [start, end) slots, so a resource can be booked many times a day. Free
+ * windows are looked up through a per-seat-class index rather than by walking rooms.
+ * Enabled by a positive {@code orders.reservation.slot-duration}; otherwise the
+ * exclusive {@code booked} flag is used as before.
+ * <p>
+ * The index only knows what this node booked. A claim is a candidate, confirmed by
+ * {@code lockIfFree} on the resource row before the order is written, which is what keeps two
+ * nodes from booking the same window.
+ */
+@Component
+public class ReservationSchedule
+{
+    private final KaraokeRepository karaokeRepository;
+    private final RealTableRepository realTableRepository;
+    private final OrderRepository orderRepository;
+    private final Duration slotDuration;
+
+    private final Slots karaokeSlots;
+    private final Slots tableSlots;
+    private volatile boolean loaded;
+
+    public ReservationSchedule(KaraokeRepository karaokeRepository,
+                               RealTableRepository realTableRepository,
+                               OrderRepository orderRepository,
+                               @Value("${orders.reservation.slot-duration:0s}") Duration slotDuration) {
+        this.karaokeRepository = karaokeRepository;
+        this.realTableRepository = realTableRepository;
+        this.orderRepository = orderRepository;
+        this.slotDuration = slotDuration;
+        this.karaokeSlots = new Slots(slotDuration);
+        this.tableSlots = new Slots(slotDuration);
+    }
+
+    public boolean isEnabled() {
+        return slotDuration.compareTo(Duration.ZERO) > 0;
+    }
+
+    public LocalDateTime slotEnd(LocalDateTime start) {
+        return start.plus(slotDuration);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!isEnabled()) {
+            return;
+        }
+        karaokeSlots.clear();
+        tableSlots.clear();
+        karaokeRepository.findAll().stream()
+                .filter(x -> !x.getBooked())
+                .forEach(x -> karaokeSlots.addResource(x.getSeats(), x.getKaraoke_id()));
+        realTableRepository.findAll().stream()
+                .filter(x -> !x.getBooked())
+                .forEach(x -> tableSlots.addResource(x.getSeats(), x.getTable_id()));
+        for (Order order : orderRepository.findSlotsEndingAfter(LocalDateTime.now())) {
+            if (order.getKaraoke() != null) {
+                karaokeSlots.reserve(order.getKaraoke().getKaraoke_id(), order.getTimestamp(), order.getEnd_time());
+            }
+            if (order.getRealTable() != null) {
+                tableSlots.reserve(order.getRealTable().getTable_id(), order.getTimestamp(), order.getEnd_time());
+            }
+        }
+        loaded = true;
+    }
+
+    public Optional<Long> claimKaraoke(int peopleCount, LocalDateTime start, LocalDateTime end) {
+        return claim(karaokeSlots, peopleCount, start, end);
+    }
+
+    public Optional<Long> claimTable(int peopleCount, LocalDateTime start, LocalDateTime end) {
+        return claim(tableSlots, peopleCount, start, end);
+    }
+
+    /** Records a window the database handed out, so the index never offers it again. */
+    public void reserveKaraoke(long id, LocalDateTime start, LocalDateTime end) {
+        reserve(karaokeSlots, id, start, end);
+    }
+
+    public void reserveTable(long id, LocalDateTime start, LocalDateTime end) {
+        reserve(tableSlots, id, start, end);
+    }
+
+    public void releaseKaraoke(long id, LocalDateTime start) {
+        TransactionHooks.onCommit(() -> karaokeSlots.release(id, start));
+    }
+
+    public void releaseTable(long id, LocalDateTime start) {
+        TransactionHooks.onCommit(() -> tableSlots.release(id, start));
+    }
+
+    private void reserve(Slots slots, long id, LocalDateTime start, LocalDateTime end) {
+        if (loaded) {
+            slots.reserve(id, start, end);
+            TransactionHooks.onRollback(() -> slots.release(id, start));
+        }
+    }
+
+    private Optional<Long> claim(Slots slots, int peopleCount, LocalDateTime start, LocalDateTime end) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        Optional<Long> id = slots.claim(peopleCount, start, end);
+        id.ifPresent(x -> TransactionHooks.onRollback(() -> slots.release(x, start)));
+        return id;
+    }
+
+    /**
+     * Free windows per seat class, indexed by time buckets one slot wide. A window of one slot
+     * starting in bucket k can only collide with reservations touching bucket k or k + 1, so per
+     * class and bucket the index keeps the resources reservations touch and those they cover
+     * completely. The rest of the class is certainly free; that set is built on first use of a
+     * bucket and kept up to date afterwards. A claim is a lookup per seat class: a fully covered
+     * class is skipped at once, and only resources booked partly inside the window are checked
+     * one by one against their own slots.
+     */
+    static class Slots
+    {
+        private final long bucketSeconds;
+        private final NavigableMap<Integer, SeatClass> bySeats = new TreeMap<>();
+        private final Map<Long, SeatClass> classOf = new HashMap<>();
+        private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> reserved = new HashMap<>();
+        private long evictedBefore = Long.MIN_VALUE;
+
+        Slots(Duration bucket) {
+            this.bucketSeconds = Math.max(bucket.toSeconds(), 1);
+        }
+
+        synchronized void addResource(int seats, long id) {
+            SeatClass seatClass = bySeats.computeIfAbsent(seats, x -> new SeatClass());
+            seatClass.ids.add(id);
+            classOf.put(id, seatClass);
+        }
+
+        synchronized void reserve(long id, LocalDateTime start, LocalDateTime end) {
+            reserved.computeIfAbsent(id, x -> new TreeMap<>()).put(start, end);
+            SeatClass seatClass = classOf.get(id);
+            if (seatClass == null) { // booked exclusively when the index was loaded
+                return;
+            }
+            long first = bucket(start);
+            long last = lastBucket(end);
+            for (long k = first; k <= last; k++) {
+                seatClass.touched.computeIfAbsent(k, x -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+            for (long k = first - 1; k <= last; k++) {
+                TreeSet<Long> free = seatClass.free.get(k);
+                if (free != null) {
+                    free.remove(id);
+                }
+            }
+            for (long k = firstCovered(start); k <= lastCovered(end); k++) {
+                seatClass.covered.computeIfAbsent(k, x -> new HashSet<>()).add(id);
+            }
+        }
+
+        synchronized Optional<Long> claim(int minSeats, LocalDateTime start, LocalDateTime end) {
+            evictPast(bucket(LocalDateTime.now()) - 1);
+            long k = bucket(start);
+            boolean oneSlot = lastBucket(end) <= k + 1;
+            for (SeatClass seatClass : bySeats.tailMap(minSeats, true).values()) {
+                Long id = oneSlot ? findFree(seatClass, k, start, end) : scan(seatClass.ids, start, end);
+                if (id != null) {
+                    reserve(id, start, end);
+                    return Optional.of(id);
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized void release(long id, LocalDateTime start) {
+            NavigableMap<LocalDateTime, LocalDateTime> slots = reserved.get(id);
+            LocalDateTime end = slots == null ? null : slots.remove(start);
+            SeatClass seatClass = classOf.get(id);
+            if (end == null || seatClass == null) {
+                return;
+            }
+            long first = bucket(start);
+            long last = lastBucket(end);
+            for (long k = first; k <= last; k++) {
+                Map<Long, Integer> touched = seatClass.touched.get(k);
+                if (touched != null && touched.merge(id, -1, Integer::sum) == 0) {
+                    touched.remove(id);
+                }
+            }
+            for (long k = firstCovered(start); k <= lastCovered(end); k++) {
+                Set<Long> covered = seatClass.covered.get(k);
+                if (covered != null) {
+                    covered.remove(id);
+                }
+            }
+            for (long k = first - 1; k <= last; k++) {
+                TreeSet<Long> free = seatClass.free.get(k);
+                if (free != null && !seatClass.touches(k, id) && !seatClass.touches(k + 1, id)) {
+                    free.add(id);
+                }
+            }
+        }
+
+        synchronized void clear() {
+            bySeats.clear();
+            classOf.clear();
+            reserved.clear();
+            evictedBefore = Long.MIN_VALUE;
+        }
+
+        // drops buckets before the given one and reservations ending in them, once per bucket
+        private void evictPast(long bucket) {
+            if (bucket <= evictedBefore) {
+                return;
+            }
+            evictedBefore = bucket;
+            for (SeatClass seatClass : bySeats.values()) {
+                seatClass.free.headMap(bucket).clear();
+                seatClass.touched.headMap(bucket).clear();
+                seatClass.covered.headMap(bucket).clear();
+            }
+            LocalDateTime cutoff = bucketStart(bucket);
+            reserved.values().removeIf(slots -> {
+                // windows of one resource never overlap, so ends ascend with starts
+                while (!slots.isEmpty() && !slots.firstEntry().getValue().isAfter(cutoff)) {
+                    slots.pollFirstEntry();
+                }
+                return slots.isEmpty();
+            });
+        }
+
+        private Long findFree(SeatClass seatClass, long k, LocalDateTime start, LocalDateTime end) {
+            if (seatClass.covered.getOrDefault(k, Set.of()).size() == seatClass.ids.size()) {
+                return null; // every resource of the class is booked over the whole bucket
+            }
+            TreeSet<Long> free = seatClass.free.computeIfAbsent(k, seatClass::untouched);
+            if (!free.isEmpty()) {
+                return free.first();
+            }
+            TreeSet<Long> nearby = new TreeSet<>(seatClass.touched.getOrDefault(k, Map.of()).keySet());
+            nearby.addAll(seatClass.touched.getOrDefault(k + 1, Map.of()).keySet());
+            nearby.removeAll(seatClass.covered.getOrDefault(k, Set.of()));
+            return scan(nearby, start, end);
+        }
+
+        private Long scan(Set<Long> ids, LocalDateTime start, LocalDateTime end) {
+            for (Long id : ids) {
+                if (isFree(id, start, end)) {
+                    return id;
+                }
+            }
+            return null;
+        }
+
+        private boolean isFree(long id, LocalDateTime start, LocalDateTime end) {
+            NavigableMap<LocalDateTime, LocalDateTime> slots = reserved.get(id);
+            if (slots == null) {
+                return true;
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> previous = slots.lowerEntry(end);
+            return previous == null || !previous.getValue().isAfter(start);
+        }
+
+        private long bucket(LocalDateTime time) {
+            return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+        }
+
+        // bucket of the last instant before the exclusive end
+        private long lastBucket(LocalDateTime end) {
+            return bucket(end.minusNanos(1));
+        }
+
+        private long firstCovered(LocalDateTime start) {
+            long first = bucket(start);
+            return start.equals(bucketStart(first)) ? first : first + 1;
+        }
+
+        private long lastCovered(LocalDateTime end) {
+            return bucket(end) - 1;
+        }
+
+        private LocalDateTime bucketStart(long k) {
+            return LocalDateTime.ofEpochSecond(k * bucketSeconds, 0, ZoneOffset.UTC);
+        }
+    }
+
+    private static class SeatClass
+    {
+        final TreeSet<Long> ids = new TreeSet<>();
+        final NavigableMap<Long, Map<Long, Integer>> touched = new TreeMap<>(); // bucket -> id -> reservations
+        final NavigableMap<Long, Set<Long>> covered = new TreeMap<>();
+        final NavigableMap<Long, TreeSet<Long>> free = new TreeMap<>(); // nothing touches bucket k or k + 1
+
+        boolean touches(long k, long id) {
+            Map<Long, Integer> ids = touched.get(k);
+            return ids != null && ids.containsKey(id);
+        }
+
+        TreeSet<Long> untouched(long k) {
+            TreeSet<Long> free = new TreeSet<>(ids);
+            free.removeAll(touched.getOrDefault(k, Map.of()).keySet());
+            free.removeAll(touched.getOrDefault(k + 1, Map.of()).keySet());
+            return free;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.orders.api.service;
+
+import com.orders.api.model.Karaoke;
+import com.orders.api.model.RealTable;
+import com.orders.api.repository.KaraokeRepository;
+import com.orders.api.repository.RealTableRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Process-local index of free karaoke rooms and tables, grouped by seat count.
+ * Best-fit lookups are served from memory; a candidate is only handed out once the conditional
+ * {@code markBooked} update wins the row, and callers fall back to {@code claimAvailable}
+ * when the index has nothing to offer.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatInventory
+{
+    private final KaraokeRepository karaokeRepository;
+    private final RealTableRepository realTableRepository;
+
+    private final SeatIndex freeKaraoke = new SeatIndex();
+    private final SeatIndex freeTables = new SeatIndex();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        freeKaraoke.clear();
+        freeTables.clear();
+        karaokeRepository.findAll().stream()
+                .filter(x -> !x.getBooked())
+                .forEach(x -> freeKaraoke.add(x.getSeats(), x.getKaraoke_id()));
+        realTableRepository.findAll().stream()
+                .filter(x -> !x.getBooked())
+                .forEach(x -> freeTables.add(x.getSeats(), x.getTable_id()));
+        loaded = true;
+    }
+
+    public Optional<Karaoke> claimKaraoke(int peopleCount) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        for (OptionalLong id = freeKaraoke.poll(peopleCount); id.isPresent(); id = freeKaraoke.poll(peopleCount)) {
+            if (karaokeRepository.markBooked(id.getAsLong()) == 0) {
+                continue; // booked behind our back, e.g. by another node
+            }
+            Optional<Karaoke> karaoke = karaokeRepository.findById(id.getAsLong());
+            if (karaoke.isPresent()) {
+                Karaoke claimed = karaoke.get();
+                TransactionHooks.onRollback(() -> freeKaraoke.add(claimed.getSeats(), claimed.getKaraoke_id()));
+                return karaoke;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<RealTable> claimTable(int peopleCount) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        for (OptionalLong id = freeTables.poll(peopleCount); id.isPresent(); id = freeTables.poll(peopleCount)) {
+            if (realTableRepository.markBooked(id.getAsLong()) == 0) {
+                continue;
+            }
+            Optional<RealTable> table = realTableRepository.findById(id.getAsLong());
+            if (table.isPresent()) {
+                RealTable claimed = table.get();
+                TransactionHooks.onRollback(() -> freeTables.add(claimed.getSeats(), claimed.getTable_id()));
+                return table;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Takes a free karaoke id off the index without touching the database, for callers that read
+     * and book the rows of several claims at once. The id goes back to the index on rollback.
+     */
+    public Optional<Long> pollKaraoke(int peopleCount) {
+        return poll(freeKaraoke, peopleCount);
+    }
+
+    public Optional<Long> pollTable(int peopleCount) {
+        return poll(freeTables, peopleCount);
+    }
+
+    private Optional<Long> poll(SeatIndex index, int peopleCount) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        return index.pollEntry(peopleCount).map(x -> {
+            TransactionHooks.onRollback(() -> index.add(x.getKey(), x.getValue()));
+            return x.getValue();
+        });
+    }
+
+    public void releaseKaraoke(Karaoke karaoke) {
+        releaseKaraoke(karaoke.getKaraoke_id(), karaoke.getSeats());
+    }
+
+    public void releaseKaraoke(long id, int seats) {
+        TransactionHooks.onCommit(() -> freeKaraoke.add(seats, id));
+    }
+
+    public void releaseTable(RealTable table) {
+        releaseTable(table.getTable_id(), table.getSeats());
+    }
+
+    public void releaseTable(long id, int seats) {
+        TransactionHooks.onCommit(() -> freeTables.add(seats, id));
+    }
+
+    /**
+     * Free resource ids keyed by seat count; lowest id wins among equally sized resources,
+     * matching the ordering of the repository best-fit queries.
+     */
+    static class SeatIndex
+    {
+        private final NavigableMap<Integer, TreeSet<Long>> bySeats = new TreeMap<>();
+
+        synchronized void add(int seats, long id) {
+            bySeats.computeIfAbsent(seats, x -> new TreeSet<>()).add(id);
+        }
+
+        synchronized OptionalLong poll(int minSeats) {
+            Map.Entry<Integer, TreeSet<Long>> entry = bySeats.ceilingEntry(minSeats);
+            if (entry == null) {
+                return OptionalLong.empty();
+            }
+            long id = entry.getValue().pollFirst();
+            if (entry.getValue().isEmpty()) {
+                bySeats.remove(entry.getKey());
+            }
+            return OptionalLong.of(id);
+        }
+
+        // seat count and id, so the caller can put the id back where it came from
+        synchronized Optional<Map.Entry<Integer, Long>> pollEntry(int minSeats) {
+            Map.Entry<Integer, TreeSet<Long>> entry = bySeats.ceilingEntry(minSeats);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            int seats = entry.getKey();
+            return Optional.of(Map.entry(seats, poll(seats).getAsLong()));
+        }
+
+        synchronized void clear() {
+            bySeats.clear();
+        }
+    }
+}
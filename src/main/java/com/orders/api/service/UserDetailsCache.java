@@ -0,0 +1,48 @@
+package com.orders.api.service;
+
+import com.orders.api.configuration.security.ExpiringCache;
+import com.orders.api.model.User;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Users looked up by the authentication path, plus a short-lived record of unknown usernames
+ * so repeated bad logins don't hit the database either. Registration evicts the email.
+ */
+@Component
+public class UserDetailsCache
+{
+    private final ExpiringCache<String, User> users;
+    private final ExpiringCache<String, Boolean> unknown;
+
+    public UserDetailsCache(@Value("${orders.security.user-cache.ttl:60s}") Duration ttl,
+                            @Value("${orders.security.user-cache.negative-ttl:5s}") Duration negativeTtl,
+                            @Value("${orders.security.user-cache.max-size:10000}") int maxSize) {
+        this.users = new ExpiringCache<>(ttl, maxSize);
+        this.unknown = new ExpiringCache<>(negativeTtl, maxSize);
+    }
+
+    public User get(String email) {
+        return users.get(email);
+    }
+
+    public boolean isUnknown(String email) {
+        return unknown.get(email) != null;
+    }
+
+    public void put(String email, User user) {
+        users.put(email, user);
+    }
+
+    public void putUnknown(String email) {
+        unknown.put(email, Boolean.TRUE);
+    }
+
+    public void evict(String email) {
+        users.remove(email);
+        unknown.remove(email);
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Arrays;
 public class UserDetailsServiceImp implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     public ResponseEntity<String> register(RegistrationRequest registrationRequest) {
         if (userRepository.findUserByEmail(registrationRequest.getEmail()).isPresent()) {
@@ -42,14 +43,25 @@ public class UserDetailsServiceImp implements UserDetailsService {
                 .role(role)
                 .build();
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
 
         return new ResponseEntity<>("Successfully registered, your email is your username", HttpStatus.OK);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findUserByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Not found!"));
+        User user = userDetailsCache.get(username);
+        if (user == null) {
+            if (userDetailsCache.isUnknown(username)) {
+                throw new UsernameNotFoundException("Not found!");
+            }
+            user = userRepository.findUserByEmail(username).orElse(null);
+            if (user == null) {
+                userDetailsCache.putUnknown(username);
+                throw new UsernameNotFoundException("Not found!");
+            }
+            userDetailsCache.put(username, user);
+        }
 
         return new UserAdapter(user);
     }
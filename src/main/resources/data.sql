@@ -1,9 +1,9 @@
-INSERT INTO karaoke(room_num,seats,booked) VALUES (1,2,0);
-INSERT INTO karaoke(room_num,seats,booked) VALUES (2,3,0);
-INSERT INTO karaoke(room_num,seats,booked) VALUES (3,4,0);
+INSERT INTO karaoke(karaoke_id,room_num,seats,booked) VALUES (1,1,2,0);
+INSERT INTO karaoke(karaoke_id,room_num,seats,booked) VALUES (2,2,3,0);
+INSERT INTO karaoke(karaoke_id,room_num,seats,booked) VALUES (3,3,4,0);
 
-INSERT INTO realtable(table_num,seats,booked) VALUES (1,3,0);
-INSERT INTO realtable(table_num,seats,booked) VALUES (2,2,0);
-INSERT INTO realtable(table_num,seats,booked) VALUES (3,9,0);
-INSERT INTO realtable(table_num,seats,booked) VALUES (4,5,0);
-INSERT INTO realtable(table_num,seats,booked) VALUES (5,6,0);
\ No newline at end of file
+INSERT INTO realtable(table_id,table_num,seats,booked) VALUES (1,1,3,0);
+INSERT INTO realtable(table_id,table_num,seats,booked) VALUES (2,2,2,0);
+INSERT INTO realtable(table_id,table_num,seats,booked) VALUES (3,3,9,0);
+INSERT INTO realtable(table_id,table_num,seats,booked) VALUES (4,4,5,0);
+INSERT INTO realtable(table_id,table_num,seats,booked) VALUES (5,5,6,0);
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.orders.api;
+
+import com.orders.api.model.Order;
+import com.orders.api.repository.OrderRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("batch")
+@TestPropertySource(locations = {"classpath:testApp.properties"})
+public class BatchProfileRepositoryTest {
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Test for saveAll() method in OrderRepository(pooled ids, batched inserts)")
+    void saveAllTest_OrderRepository() {
+        List<Order> orders = IntStream.range(0, 120)
+                .mapToObj(x -> Order.builder()
+                        .status(false)
+                        .people_count(2)
+                        .timestamp(LocalDateTime.parse("2024-12-12T12:12:12").plusMinutes(x))
+                        .build())
+                .toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+
+        assertThat(orders).extracting(Order::getOrder_id).doesNotContainNull().doesNotHaveDuplicates()
+                .allMatch(x -> x >= 1_000_000L, "above the ids IDENTITY handed out before");
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount())
+                .as("three id blocks and three insert batches instead of 120 inserts")
+                .isLessThan(20);
+    }
+}
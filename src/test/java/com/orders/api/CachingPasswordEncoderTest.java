@@ -0,0 +1,61 @@
+package com.orders.api;
+
+import com.orders.api.configuration.security.CachingPasswordEncoder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingPasswordEncoderTest {
+    @Mock
+    PasswordEncoder delegate;
+
+    CachingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    @DisplayName("Test for matches() method(successful check cached)")
+    void testMatches_Cached() {
+        when(delegate.matches("1234", "hash")).thenReturn(true);
+
+        assertThat(passwordEncoder.matches("1234", "hash")).isTrue();
+        assertThat(passwordEncoder.matches("1234", "hash")).isTrue();
+        verify(delegate, times(1)).matches("1234", "hash");
+    }
+
+    @Test
+    @DisplayName("Test for matches() method(failed check not cached)")
+    void testMatches_WrongPassword() {
+        when(delegate.matches("4321", "hash")).thenReturn(false);
+
+        assertThat(passwordEncoder.matches("4321", "hash")).isFalse();
+        assertThat(passwordEncoder.matches("4321", "hash")).isFalse();
+        verify(delegate, times(2)).matches("4321", "hash");
+    }
+
+    @Test
+    @DisplayName("Test for matches() method(changed password hash)")
+    void testMatches_ChangedHash() {
+        when(delegate.matches("1234", "hash")).thenReturn(true);
+        when(delegate.matches("1234", "newHash")).thenReturn(false);
+
+        assertThat(passwordEncoder.matches("1234", "hash")).isTrue();
+        assertThat(passwordEncoder.matches("1234", "newHash")).isFalse();
+    }
+}
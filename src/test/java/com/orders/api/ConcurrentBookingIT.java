@@ -0,0 +1,81 @@
+package com.orders.api;
+
+import com.orders.api.dto.request.OrderCreateDTO;
+import com.orders.api.exception.CreateOrderException;
+import com.orders.api.service.OrdersApiService;
+import com.orders.api.service.SeatInventory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// not @Transactional: every booking has to commit in its own thread
+@SpringBootTest
+@TestPropertySource(locations = {"classpath:testApp.properties"})
+class ConcurrentBookingIT {
+	@Autowired
+	OrdersApiService ordersApiService;
+	@Autowired
+	SeatInventory seatInventory;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM orders");
+		jdbcTemplate.update("UPDATE realtable SET booked = false");
+		seatInventory.load();
+	}
+
+	@Test
+	@DisplayName("Test for concurrent POST /order/create(no double booking)")
+	void testCreateOrder_Concurrent() throws Exception {
+		int tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM realtable", Integer.class);
+		var orderCreate = OrderCreateDTO.builder()
+				.order(List.of("table"))
+				.timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+				.people_count(1)
+				.build();
+
+		AtomicInteger rejected = new AtomicInteger();
+		Callable<Void> booking = () -> {
+			try {
+				ordersApiService.createOrder(orderCreate, null);
+			} catch (CreateOrderException e) {
+				rejected.incrementAndGet();
+			}
+			return null;
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (Future<Void> future : executor.invokeAll(IntStream.range(0, 4 * tables).mapToObj(x -> booking).toList())) {
+				future.get(); // rethrows anything but "no free seats"
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(rejected).hasValue(3 * tables);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT table_id) FROM orders", Integer.class))
+				.as("every table booked exactly once")
+				.isEqualTo(tables);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class))
+				.isEqualTo(tables);
+	}
+}
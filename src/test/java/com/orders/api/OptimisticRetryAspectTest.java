@@ -0,0 +1,117 @@
+package com.orders.api;
+
+import com.orders.api.configuration.MetricsConfig;
+import com.orders.api.service.OptimisticRetryAspect;
+import com.orders.api.service.RetryOnConflict;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OptimisticRetryAspectTest {
+    OptimisticRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        aspect = new OptimisticRetryAspect(3, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    @Test
+    @DisplayName("Test for retry() method(succeeds after conflicts)")
+    void testRetry() {
+        Booking booking = proxy(new Booking(2));
+
+        assertThat(booking.book()).isEqualTo("booked");
+        assertThat(aspect.stats().get("book").retries()).isEqualTo(2);
+        assertThat(aspect.stats().get("book").exhausted()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test for retry() method(attempts exhausted)")
+    void testRetry_Exhausted() {
+        Booking booking = proxy(new Booking(5));
+
+        assertThatThrownBy(booking::book)
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(aspect.stats().get("book").calls()).isEqualTo(1);
+        assertThat(aspect.stats().get("book").retries()).isEqualTo(2);
+        assertThat(aspect.stats().get("book").exhausted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test for retry() method(a retried call is timed once)")
+    void testRetry_TimedOnce() {
+        try (var context = new AnnotationConfigApplicationContext(TimedBookingConfig.class)) {
+            assertThat(context.getBean(Booking.class).book()).isEqualTo("booked");
+
+            assertThat(context.getBean(MeterRegistry.class).get("orders.test").timers())
+                    .singleElement()
+                    .extracting(Timer::count)
+                    .isEqualTo(1L);
+        }
+    }
+
+    private Booking proxy(Booking target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import(MetricsConfig.class)
+    static class TimedBookingConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        OptimisticRetryAspect optimisticRetryAspect() {
+            return new OptimisticRetryAspect(3, Duration.ofMillis(1), Duration.ofMillis(5));
+        }
+
+        @Bean
+        Booking booking() {
+            return new Booking(2);
+        }
+    }
+
+    static class Booking {
+        private int conflicts;
+
+        Booking() {
+        }
+
+        Booking(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @Timed("orders.test")
+        @RetryOnConflict
+        public String book() {
+            if (conflicts-- > 0) {
+                throw new ObjectOptimisticLockingFailureException(Booking.class, 1L);
+            }
+            return "booked";
+        }
+    }
+}
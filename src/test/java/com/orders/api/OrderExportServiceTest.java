@@ -0,0 +1,95 @@
+package com.orders.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orders.api.configuration.json.OrderJsonSerializers;
+import com.orders.api.model.Karaoke;
+import com.orders.api.model.Order;
+import com.orders.api.repository.OrderRepository;
+import com.orders.api.service.OrderExportService;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderExportServiceTest {
+    @Mock
+    OrderRepository orderRepository;
+    @Mock
+    EntityManager entityManager;
+
+    OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(orderRepository,
+                Jackson2ObjectMapperBuilder.json()
+                        .serializationInclusion(JsonInclude.Include.NON_NULL)
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .modulesToInstall(OrderJsonSerializers.module())
+                        .build(),
+                entityManager);
+    }
+
+    @Test
+    @DisplayName("Test for exportOrders() method")
+    void testExportOrders() throws IOException {
+        var first = Order.builder()
+                .order_id(1L)
+                .status(true)
+                .people_count(2)
+                .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                .karaoke(Karaoke.builder().room_num(1).seats(2).booked(true).build())
+                .build();
+        var second = Order.builder()
+                .order_id(2L)
+                .status(false)
+                .people_count(1)
+                .timestamp(LocalDateTime.parse("2024-12-13T12:12:12"))
+                .build();
+
+        when(orderRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        var outputStream = new ByteArrayOutputStream();
+        orderExportService.exportOrders(outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"timestamp\":\"2024-12-12T12:12:12\",\"people_count\":2,\"status\":true," +
+                        "\"karaoke\":{\"room_num\":1,\"seats\":2,\"booked\":true}}\n" +
+                "{\"id\":2,\"timestamp\":\"2024-12-13T12:12:12\",\"people_count\":1,\"status\":false}\n");
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Test for exportOrders() method(persistence context cleared in blocks)")
+    void testExportOrders_ClearsInBlocks() throws IOException {
+        when(orderRepository.streamAll()).thenReturn(LongStream.rangeClosed(1, 1200)
+                .mapToObj(x -> Order.builder().order_id(x).status(false).people_count(1).build()));
+
+        var outputStream = new ByteArrayOutputStream();
+        orderExportService.exportOrders(outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8).lines()).hasSize(1200);
+        verify(entityManager, times(2)).clear();
+    }
+}
@@ -0,0 +1,139 @@
+package com.orders.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.orders.api.configuration.Mapper;
+import com.orders.api.configuration.json.OrderJsonSerializers;
+import com.orders.api.model.Karaoke;
+import com.orders.api.model.Order;
+import com.orders.api.model.RealTable;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderJsonSerializersTest {
+    private final ObjectMapper reflective = mapper().build();
+    private final ObjectMapper direct = mapper().modulesToInstall(OrderJsonSerializers.module()).build();
+
+    private final List<Order> orders = List.of(
+            Order.builder()
+                    .order_id(1L)
+                    .status(true)
+                    .people_count(2)
+                    .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                    .karaoke(Karaoke.builder().room_num(1).seats(2).booked(true).build())
+                    .build(),
+            Order.builder()
+                    .order_id(2L)
+                    .status(false)
+                    .people_count(4)
+                    .timestamp(LocalDateTime.parse("2024-12-13T12:00:00.5"))
+                    .realTable(RealTable.builder().table_num(3).seats(4).booked(false).build())
+                    .build(),
+            Order.builder()
+                    .order_id(3L)
+                    .build());
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Test for OrderDTOSerializer(same bytes as bean serialization)")
+    void testOrderDTOSerializer() throws Exception {
+        var dtos = orders.stream().map(Mapper::mapToOrderDTO).toList();
+
+        assertThat(direct.writeValueAsString(dtos)).isEqualTo(reflective.writeValueAsString(dtos));
+    }
+
+    @Test
+    @DisplayName("Test for OrderHistoryDTOSerializer(same bytes as bean serialization)")
+    void testOrderHistoryDTOSerializer() throws Exception {
+        var dtos = orders.stream().map(Mapper::mapToOrderHistory).toList();
+
+        assertThat(direct.writeValueAsString(dtos)).isEqualTo(reflective.writeValueAsString(dtos));
+    }
+
+    @Test
+    @DisplayName("Test for KaraokeDTOSerializer and RealTableDTOSerializer(same bytes as bean serialization)")
+    void testSeatSerializers() throws Exception {
+        var karaoke = Mapper.mapToKaraokeDTO(orders.get(0).getKaraoke());
+        var table = Mapper.mapToRealTableDTO(orders.get(1).getRealTable());
+
+        assertThat(direct.writeValueAsString(karaoke)).isEqualTo(reflective.writeValueAsString(karaoke));
+        assertThat(direct.writeValueAsString(table)).isEqualTo(reflective.writeValueAsString(table));
+    }
+
+    @Test
+    @DisplayName("Test for OrderSerializer(entity written in the OrderDTO shape)")
+    void testOrderSerializer() throws Exception {
+        var dtos = orders.stream().map(Mapper::mapToOrderDTO).toList();
+
+        assertThat(direct.writerFor(direct.getTypeFactory().constructCollectionType(List.class, Order.class))
+                .writeValueAsString(orders))
+                .isEqualTo(reflective.writeValueAsString(dtos));
+    }
+
+    @Test
+    @DisplayName("Test for OrderSerializer(hand-written timestamps match DateTimeFormatter)")
+    void testOrderSerializer_Timestamps() throws Exception {
+        for (String timestamp : List.of("2024-01-01T00:00:00", "0001-02-03T04:05:06.000000007",
+                "2024-12-31T23:59:59.999999999", "2024-06-15T08:30:00.120", "9999-12-31T23:59:01.000100")) {
+            var order = Order.builder().order_id(1L).timestamp(LocalDateTime.parse(timestamp)).build();
+
+            assertThat(direct.writeValueAsString(order))
+                    .isEqualTo(reflective.writeValueAsString(Mapper.mapToOrderDTO(order)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test for OrderSerializer(a configured timestamp format is kept)")
+    void testOrderSerializer_CustomTimestampFormat() throws Exception {
+        var custom = mapper()
+                .serializerByType(LocalDateTime.class,
+                        new LocalDateTimeSerializer(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")))
+                .modulesToInstall(OrderJsonSerializers.module())
+                .build();
+
+        assertThat(custom.writeValueAsString(orders.get(0)))
+                .startsWith("{\"id\":1,\"timestamp\":\"12.12.2024 12:12\",");
+    }
+
+    @Test
+    @DisplayName("Test for OrderSerializer(a fixed-fraction format close to ISO is kept)")
+    void testOrderSerializer_FixedFractionFormat() throws Exception {
+        var custom = mapper()
+                .serializerByType(LocalDateTime.class,
+                        new LocalDateTimeSerializer(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS")))
+                .modulesToInstall(OrderJsonSerializers.module())
+                .build();
+
+        assertThat(custom.writeValueAsString(orders.get(0)))
+                .startsWith("{\"id\":1,\"timestamp\":\"2024-12-12T12:12:12.000\",");
+        assertThat(custom.writeValueAsString(orders.get(1)))
+                .startsWith("{\"id\":2,\"timestamp\":\"2024-12-13T12:00:00.500\",");
+    }
+
+    @Test
+    @DisplayName("Test for OrderSerializer(timestamps follow WRITE_DATES_AS_TIMESTAMPS)")
+    void testOrderSerializer_NumericTimestamps() throws Exception {
+        var numeric = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .modulesToInstall(OrderJsonSerializers.module())
+                .build();
+
+        assertThat(numeric.writeValueAsString(orders.get(0)))
+                .startsWith("{\"id\":1,\"timestamp\":[2024,12,12,12,12,12],");
+    }
+}
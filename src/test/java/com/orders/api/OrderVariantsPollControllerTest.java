@@ -0,0 +1,95 @@
+package com.orders.api;
+
+import com.orders.api.controller.OrderVariantsPollController;
+import com.orders.api.dto.response.OrderDetailsDTO;
+import com.orders.api.service.ChangeTracker;
+import com.orders.api.service.OrdersApiService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderVariantsPollControllerTest {
+    @Mock
+    OrdersApiService ordersApiService;
+
+    ChangeTracker changeTracker;
+    OrderVariantsPollController controller;
+
+    @BeforeEach
+    void setUp() {
+        changeTracker = new ChangeTracker(Duration.ofMinutes(1));
+        controller = new OrderVariantsPollController(ordersApiService, changeTracker, Runnable::run, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Test for pollOrderVariants() method(stale ETag)")
+    void testPollOrderVariants_StaleETag() {
+        var details = new OrderDetailsDTO(List.of(), List.of());
+        when(ordersApiService.getOrderVariants()).thenReturn(details);
+
+        var result = controller.pollOrderVariants("\"i-old-0\"", "wait=10");
+
+        assertThat(result.getResult()).isEqualTo(ResponseEntity.ok().eTag(changeTracker.inventoryETag()).body(details));
+    }
+
+    @Test
+    @DisplayName("Test for pollOrderVariants() method(waits for a change)")
+    void testPollOrderVariants_WaitsForChange() {
+        var details = new OrderDetailsDTO(List.of(), List.of());
+        when(ordersApiService.getOrderVariants()).thenReturn(details);
+
+        var first = controller.pollOrderVariants(changeTracker.inventoryETag(), "wait=10");
+        var second = controller.pollOrderVariants(changeTracker.inventoryETag(), "respond-async, wait=10");
+        assertThat(first.hasResult()).isFalse();
+        assertThat(second.hasResult()).isFalse();
+        verify(ordersApiService, never()).getOrderVariants();
+
+        changeTracker.inventoryChanged();
+
+        assertThat(first.getResult()).isEqualTo(ResponseEntity.ok().eTag(changeTracker.inventoryETag()).body(details));
+        assertThat(second.getResult()).isEqualTo(first.getResult());
+        verify(ordersApiService, times(1)).getOrderVariants();
+    }
+
+    @Test
+    @DisplayName("Test for pollOrderVariants() method(ETag expires with its time bucket)")
+    void testPollOrderVariants_BucketExpired() throws InterruptedException {
+        var details = new OrderDetailsDTO(List.of(), List.of());
+        var shortLived = new ChangeTracker(Duration.ofMillis(20));
+        var polling = new OrderVariantsPollController(ordersApiService, shortLived, Runnable::run, Duration.ofSeconds(30));
+        when(ordersApiService.getOrderVariants()).thenReturn(details);
+
+        String eTag = shortLived.inventoryETag();
+        Thread.sleep(40); // changed elsewhere, nothing bumped the counter
+
+        assertThat(shortLived.inventoryETag()).isNotEqualTo(eTag);
+        assertThat(polling.pollOrderVariants(eTag, "wait=10").getResult())
+                .isEqualTo(ResponseEntity.ok().eTag(shortLived.inventoryETag()).body(details));
+    }
+
+    @Test
+    @DisplayName("Test for pollOrderVariants() method(no wait requested)")
+    void testPollOrderVariants_NoWait() {
+        var result = controller.pollOrderVariants(changeTracker.inventoryETag(), "return=minimal");
+
+        assertThat(result.getResult()).isEqualTo(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(changeTracker.inventoryETag()).build());
+        verify(ordersApiService, never()).getOrderVariants();
+    }
+}
@@ -1,5 +1,10 @@
 package com.orders.api;
 
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -15,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +33,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class OrdersApiIT {
 	@Autowired
 	MockMvc mockMvc;
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	@Autowired
+	EntityManager entityManager;
 
 	final RequestPostProcessor postProcessor = SecurityMockMvcRequestPostProcessors
 			.httpBasic("email@gmail.com", "1234");
@@ -99,6 +109,34 @@ class OrdersApiIT {
 				.andExpect(content().bytes("Correct".getBytes()));
 	}
 
+	@Test
+	@DisplayName("Test for POST /login and bearer authentication")
+	@Sql(statements = {createUser})
+	void testLoginEndpoint() throws Exception {
+		String token = JsonPath.read(mockMvc.perform(post("/login").with(postProcessor))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(), "$.access_token");
+
+		Statistics statistics = statistics();
+		mockMvc.perform(get("/check/authorities").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount())
+				.as("token verified without a user lookup")
+				.isZero();
+	}
+
+	@Test
+	@DisplayName("Test for POST /login(bearer token can't be refreshed)")
+	@Sql(statements = {createUser})
+	void testLoginEndpoint_BearerToken() throws Exception {
+		String token = JsonPath.read(mockMvc.perform(post("/login").with(postProcessor))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(), "$.access_token");
+
+		mockMvc.perform(post("/login").header("Authorization", "Bearer " + token))
+				.andExpect(status().isUnauthorized());
+	}
+
 	@Test
 	@DisplayName("Test for GET /orders/variants")
 	@Sql(statements = {"UPDATE karaoke SET booked = true WHERE karaoke_id = 1",
@@ -127,6 +165,21 @@ class OrdersApiIT {
 				.andExpect(jsonPath("$.realTableDTOS[4].booked").value(true));
 	}
 
+	@Test
+	@DisplayName("Test for GET /orders/variants(not modified)")
+	void testGetOrderVariantsEndpoint_NotModified() throws Exception {
+		String eTag = mockMvc.perform(get("/orders/variants"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		Statistics statistics = statistics();
+		mockMvc.perform(get("/orders/variants").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount())
+				.as("answered from the change version alone")
+				.isZero();
+	}
+
 	@Test
 	@DisplayName("Test for GET /users")
 	@Sql(statements = {createAdmin})
@@ -197,6 +250,7 @@ class OrdersApiIT {
 			"UPDATE karaoke SET booked = true WHERE karaoke_id = 1",
 			"UPDATE realtable SET booked = true WHERE table_id = 2"})
 	void testGetOrdersToConfirmEndpoint() throws Exception {
+		Statistics statistics = statistics();
 		var requestBuilder = get("/orders/toConfirm").with(postProcessor);
 		mockMvc.perform(requestBuilder)
 				.andExpect(status().isOk())
@@ -210,6 +264,9 @@ class OrdersApiIT {
 				.andExpect(jsonPath("$.[0].table.table_num").value(2))
 				.andExpect(jsonPath("$.[0].table.seats").value(2))
 				.andExpect(jsonPath("$.[0].table.booked").value(true));
+		assertThat(statistics.getPrepareStatementCount())
+				.as("user lookup + one pending-orders select")
+				.isEqualTo(2);
 	}
 
 	@Test
@@ -273,6 +330,7 @@ class OrdersApiIT {
 					"VALUES (1, 2, true, '2024-12-12T12:12:12', 1, 2)",
 			"UPDATE karaoke SET booked = true WHERE karaoke_id = 1"})
 	void testGetOrdersEndpoint() throws Exception {
+		Statistics statistics = statistics();
 		var requestBuilder = get("/orders").with(postProcessor);
 		mockMvc.perform(requestBuilder)
 				.andExpect(status().isOk())
@@ -282,7 +340,11 @@ class OrdersApiIT {
 				.andExpect(jsonPath("$.[0].status").value(true))
 				.andExpect(jsonPath("$.[0].karaoke.room_num").value(1))
 				.andExpect(jsonPath("$.[0].karaoke.seats").value(2))
-				.andExpect(jsonPath("$.[0].karaoke.booked").value(true));
+				.andExpect(jsonPath("$.[0].karaoke.booked").value(true))
+				.andExpect(header().string("X-SQL-Statements", "2"));
+		assertThat(statistics.getPrepareStatementCount())
+				.as("user lookup + one orders page select")
+				.isEqualTo(2);
 	}
 
 	@Test
@@ -319,4 +381,28 @@ class OrdersApiIT {
 				.andExpect(status().isBadRequest())
 				.andExpect(content().bytes("The order with this ID does not exist".getBytes()));
 	}
+
+	@Test
+	@DisplayName("Test for POST /order/cancel(statement count)")
+	@Sql(statements = {createAdmin,
+			"INSERT INTO orders(order_id, people_count, status, timestamp, karaoke_id, table_id, user_id) " +
+					"VALUES (1, 2, false, '2024-12-12T12:12:12', 1, 2, 1)",
+			"UPDATE karaoke SET booked = true WHERE karaoke_id = 1",
+			"UPDATE realtable SET booked = true WHERE table_id = 2"})
+	void testCancelOrderEndpoint_StatementCount() throws Exception {
+		Statistics statistics = statistics();
+		var requestBuilder = post("/order/cancel?id=1").with(postProcessor);
+		mockMvc.perform(requestBuilder)
+				.andExpect(status().isOk());
+		entityManager.flush(); // the test transaction never commits, write out what the request left pending
+		assertThat(statistics.getPrepareStatementCount())
+				.as("user lookup, one order select with both resources, two resource updates and the delete")
+				.isEqualTo(5);
+	}
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
 }
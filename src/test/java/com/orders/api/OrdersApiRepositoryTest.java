@@ -10,12 +10,15 @@ import com.orders.api.repository.OrderRepository;
 import com.orders.api.repository.RealTableRepository;
 import com.orders.api.repository.UserRepository;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.assertj.core.data.Index;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -24,6 +27,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @TestPropertySource(locations = {"classpath:testApp.properties"})
@@ -43,6 +47,20 @@ public class OrdersApiRepositoryTest {
     @Autowired
     TestEntityManager entityManager;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Test for second-level cache(off without the l2cache profile)")
+    void secondLevelCacheTest_DefaultProfile() {
+        var options = entityManagerFactory.unwrap(SessionFactory.class).getSessionFactoryOptions();
+        assertThat(options.isSecondLevelCacheEnabled()).isFalse();
+        assertThat(options.isQueryCacheEnabled()).isFalse();
+
+        karaokeRepository.findById(1L);
+        assertThat(entityManagerFactory.getCache().contains(Karaoke.class, 1L)).isFalse();
+    }
+
     @Test
     @DisplayName("Test for save() method in UserRepository")
     void saveTest_UserRepository() {
@@ -105,14 +123,14 @@ public class OrdersApiRepositoryTest {
     }
 
     @Test
-    @DisplayName("Test for ordersToConfirm() method in OrderRepository")
+    @DisplayName("Test for findPending() method in OrderRepository")
     @Sql(statements = {"INSERT INTO user(user_id, name, email, password, role) " +
                 "VALUES (2, 'John', 'email@gmail.com', '1234', 0)",
             "INSERT INTO orders(order_id, people_count, status, timestamp, karaoke_id, table_id, user_id) " +
                 "VALUES (1, 2, true, '2024-12-12T12:12:12', null, null, null), (2, 2, false, '2024-12-12T12:12:12', 1, 2, 2)",
             "UPDATE karaoke SET booked = true WHERE karaoke_id = 1",
             "UPDATE realtable SET booked = true WHERE table_id = 2",})
-    void ordersToConfirmTest_OrderRepository() {
+    void findPendingTest_OrderRepository() {
         var expect = Order.builder()
                 .order_id(2L)
                 .status(false)
@@ -129,13 +147,88 @@ public class OrdersApiRepositoryTest {
                         .build())
                 .build();
 
-        List<Order> actual = orderRepository.ordersToConfirm();
+        List<Order> actual = orderRepository.findPending(PageRequest.of(0, 50));
         assertThat(actual)
                 .hasOnlyElementsOfType(Order.class)
                 .hasSize(1)
                 .contains(expect, Index.atIndex(0));
     }
 
+    @Test
+    @DisplayName("Test for findPendingAfter() method in OrderRepository")
+    @Sql(statements = {"INSERT INTO orders(order_id, people_count, status, timestamp) " +
+                "VALUES (1, 2, false, '2024-12-12T18:00:00'), (2, 2, false, '2024-12-12T12:00:00'), " +
+                "(3, 2, true, '2024-12-12T13:00:00'), (4, 2, false, '2024-12-12T18:00:00')"})
+    void findPendingAfterTest_OrderRepository() {
+        assertThat(orderRepository.findPending(PageRequest.of(0, 2)))
+                .extracting(Order::getOrder_id)
+                .containsExactly(2L, 1L);
+        assertThat(orderRepository.findPendingAfter(LocalDateTime.parse("2024-12-12T18:00:00"), 1L, PageRequest.of(0, 2)))
+                .extracting(Order::getOrder_id)
+                .containsExactly(4L);
+        assertThat(orderRepository.existsByStatus(false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test for findPendingAfter() method in OrderRepository(cursor order deleted)")
+    @Sql(statements = {"INSERT INTO orders(order_id, people_count, status, timestamp) " +
+                "VALUES (1, 2, false, '2024-12-12T12:00:00'), (2, 2, false, '2024-12-12T13:00:00'), " +
+                "(3, 2, false, '2024-12-12T13:00:00'), (4, 2, false, '2024-12-12T14:00:00')"})
+    void findPendingAfterTest_CursorDeleted_OrderRepository() {
+        assertThat(orderRepository.findPending(PageRequest.of(0, 2)))
+                .extracting(Order::getOrder_id)
+                .containsExactly(1L, 2L);
+
+        orderRepository.deleteAllByIds(List.of(2L));
+
+        assertThat(orderRepository.findPendingAfter(LocalDateTime.parse("2024-12-12T13:00:00"), 2L, PageRequest.of(0, 2)))
+                .extracting(Order::getOrder_id)
+                .containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Test for findStatuses() and confirmAll() methods in OrderRepository")
+    @Sql(statements = {"INSERT INTO orders(order_id, people_count, status, timestamp) " +
+            "VALUES (1, 2, false, '2024-12-12T12:00:00'), (2, 2, true, '2024-12-12T13:00:00')"})
+    void confirmAllTest_OrderRepository() {
+        assertThat(orderRepository.findStatuses(List.of(1L, 2L, 3L)))
+                .extracting(OrderRepository.OrderStatus::getId, OrderRepository.OrderStatus::getStatus)
+                .containsExactlyInAnyOrder(tuple(1L, false), tuple(2L, true));
+
+        assertThat(orderRepository.confirmAll(List.of(1L, 2L))).isEqualTo(1);
+        entityManager.clear();
+        assertThat(orderRepository.findById(1L))
+                .isPresent()
+                .get()
+                .extracting(Order::getStatus, Order::getVersion)
+                .containsExactly(true, 1L);
+    }
+
+    @Test
+    @DisplayName("Test for bulk cancellation methods in OrderRepository and KaraokeRepository")
+    @Sql(statements = {"UPDATE karaoke SET booked = true WHERE karaoke_id IN (1, 2)",
+            "INSERT INTO orders(order_id, people_count, status, timestamp, end_time, karaoke_id) " +
+                    "VALUES (1, 2, false, '2024-12-12T18:00:00', null, 1), " +
+                    "(2, 2, false, '2024-12-12T19:00:00', '2024-12-12T21:00:00', 3), " +
+                    "(3, 2, false, '2024-12-13T18:00:00', null, 2)"})
+    void bulkCancelTest_OrderRepository() {
+        var from = LocalDateTime.parse("2024-12-12T00:00:00");
+        assertThat(orderRepository.findResourcesBetween(from, from.plusDays(1), PageRequest.of(0, 1))).hasSize(1);
+        List<Long> ids = orderRepository.findResourcesBetween(from, from.plusDays(1), PageRequest.of(0, 501)).stream()
+                .map(OrderRepository.OrderResources::getId)
+                .toList();
+        assertThat(ids).containsExactlyInAnyOrder(1L, 2L);
+
+        assertThat(karaokeRepository.releaseForOrders(ids)).isEqualTo(1); // the slotted order never set the flag
+        assertThat(orderRepository.deleteAllByIds(ids)).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(karaokeRepository.findAll())
+                .extracting(Karaoke::getKaraoke_id, Karaoke::getBooked)
+                .containsExactlyInAnyOrder(tuple(1L, false), tuple(2L, true), tuple(3L, false));
+        assertThat(orderRepository.findAll()).extracting(Order::getOrder_id).containsExactly(3L);
+    }
+
     @Test
     @DisplayName("Test for save() method in KaraokeRepository")
     void saveTest_KaraokeRepository() {
@@ -211,4 +304,83 @@ public class OrdersApiRepositoryTest {
                 .get()
                 .isEqualTo(expect);
     }
+
+    @Test
+    @DisplayName("Test for findAvailable() method in RealTableRepository(best fit)")
+    void findAvailableTest_RealTableRepository_BestFit() {
+        var expect = RealTable.builder()
+                .table_id(4L)
+                .table_num(4)
+                .seats(5)
+                .booked(false)
+                .build();
+
+        Optional<RealTable> actual = realTableRepository.findAvailable(4);
+        assertThat(actual)
+                .isPresent()
+                .get()
+                .isEqualTo(expect);
+    }
+
+    @Test
+    @DisplayName("Test for markBooked() and claimAvailable() methods in RealTableRepository")
+    void claimTest_RealTableRepository() {
+        assertThat(realTableRepository.markBooked(2L)).isEqualTo(1);
+        assertThat(realTableRepository.markBooked(2L)).isZero();
+
+        assertThat(realTableRepository.claimAvailable(1))
+                .isPresent()
+                .get()
+                .extracting(RealTable::getTable_id)
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Test for markBooked() method in RealTableRepository(loaded row is not stale)")
+    void markBookedTest_RealTableRepository_LoadedRow() {
+        RealTable before = realTableRepository.findById(2L).orElseThrow();
+
+        assertThat(realTableRepository.markBooked(2L)).isEqualTo(1);
+
+        assertThat(realTableRepository.findById(2L))
+                .isPresent()
+                .get()
+                .satisfies(x -> assertThat(x.getBooked()).isTrue())
+                .satisfies(x -> assertThat(x.getVersion()).isEqualTo(before.getVersion() + 1));
+    }
+
+    @Test
+    @DisplayName("Test for findAvailable() method in RealTableRepository(time slots)")
+    @Sql(statements = {"INSERT INTO orders(order_id, people_count, status, timestamp, end_time, table_id) " +
+            "VALUES (1, 4, false, '2024-12-12T18:00:00', '2024-12-12T20:00:00', 4)"})
+    void findAvailableTest_RealTableRepository_TimeSlots() {
+        Optional<RealTable> overlapping = realTableRepository.findAvailable(4,
+                LocalDateTime.parse("2024-12-12T19:00:00"), LocalDateTime.parse("2024-12-12T21:00:00"));
+        assertThat(overlapping)
+                .isPresent()
+                .get()
+                .extracting(RealTable::getTable_id)
+                .isEqualTo(5L);
+
+        Optional<RealTable> adjacent = realTableRepository.findAvailable(4,
+                LocalDateTime.parse("2024-12-12T20:00:00"), LocalDateTime.parse("2024-12-12T22:00:00"));
+        assertThat(adjacent)
+                .isPresent()
+                .get()
+                .extracting(RealTable::getTable_id)
+                .isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Test for lockIfFree() method in RealTableRepository")
+    @Sql(statements = {"INSERT INTO orders(order_id, people_count, status, timestamp, end_time, table_id) " +
+            "VALUES (1, 4, false, '2024-12-12T18:00:00', '2024-12-12T20:00:00', 4)"})
+    void lockIfFreeTest_RealTableRepository() {
+        assertThat(realTableRepository.lockIfFree(4L,
+                LocalDateTime.parse("2024-12-12T19:00:00"), LocalDateTime.parse("2024-12-12T21:00:00")))
+                .isEmpty();
+        assertThat(realTableRepository.lockIfFree(4L,
+                LocalDateTime.parse("2024-12-12T20:00:00"), LocalDateTime.parse("2024-12-12T22:00:00")))
+                .isPresent();
+    }
 }
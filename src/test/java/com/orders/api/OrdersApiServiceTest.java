@@ -1,8 +1,11 @@
 package com.orders.api;
 
 import com.orders.api.configuration.security.Role;
+import com.orders.api.dto.request.OrderCancelDTO;
 import com.orders.api.dto.request.OrderCreateDTO;
+import com.orders.api.dto.request.OrdersFilterDTO;
 import com.orders.api.dto.response.*;
+import com.orders.api.exception.CancelOrdersException;
 import com.orders.api.exception.CreateOrderException;
 import com.orders.api.exception.GetOrdersException;
 import com.orders.api.model.Karaoke;
@@ -13,7 +16,12 @@ import com.orders.api.repository.KaraokeRepository;
 import com.orders.api.repository.OrderRepository;
 import com.orders.api.repository.RealTableRepository;
 import com.orders.api.repository.UserRepository;
+import com.orders.api.service.BookingMetrics;
+import com.orders.api.service.ChangeTracker;
+import com.orders.api.service.OrderVariantsCache;
 import com.orders.api.service.OrdersApiService;
+import com.orders.api.service.ReservationSchedule;
+import com.orders.api.service.SeatInventory;
 
 import org.assertj.core.data.Index;
 import org.junit.jupiter.api.DisplayName;
@@ -21,14 +29,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,6 +62,16 @@ public class OrdersApiServiceTest {
     KaraokeRepository karaokeRepository;
     @Mock
     RealTableRepository realTableRepository;
+    @Mock
+    SeatInventory seatInventory;
+    @Mock
+    ReservationSchedule reservationSchedule;
+    @Spy
+    ChangeTracker changeTracker = new ChangeTracker(Duration.ofMinutes(1));
+    @Spy
+    BookingMetrics bookingMetrics = new BookingMetrics();
+    @Spy
+    OrderVariantsCache orderVariantsCache = new OrderVariantsCache(changeTracker, Duration.ofMinutes(1));
 
     @InjectMocks
     OrdersApiService ordersApiService;
@@ -70,6 +99,35 @@ public class OrdersApiServiceTest {
                 .isEqualTo(expect);
     }
 
+    @Test
+    @DisplayName("Test for getOrderVariants() method(cached until a booking change)")
+    void testGetOrderVariants_Cached() {
+        when(karaokeRepository.findAll())
+                .thenReturn(List.of(Karaoke.builder().room_num(1).seats(1).booked(false).build()));
+
+        ordersApiService.getOrderVariants();
+        ordersApiService.getOrderVariants();
+        verify(karaokeRepository, times(1)).findAll();
+
+        changeTracker.inventoryChanged(); // no transaction, applied immediately
+        ordersApiService.getOrderVariants();
+        verify(karaokeRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Test for getOrderVariants() method(never cached past its ETag time bucket)")
+    void testGetOrderVariants_BucketExpired() throws InterruptedException {
+        var shortLived = new ChangeTracker(Duration.ofMillis(20));
+        var cache = new OrderVariantsCache(shortLived, Duration.ofMinutes(1));
+        var service = new OrdersApiService(userRepository, realTableRepository, karaokeRepository, orderRepository,
+                seatInventory, reservationSchedule, cache, shortLived, bookingMetrics);
+
+        service.getOrderVariants();
+        Thread.sleep(40);
+        service.getOrderVariants();
+        verify(karaokeRepository, times(2)).findAll();
+    }
+
     @Test
     @DisplayName("Test for getUsers() method")
     void testGetUsers() {
@@ -115,15 +173,120 @@ public class OrdersApiServiceTest {
                 .realTableDTO(new RealTableDTO(2, 1, true))
                 .build();
 
-        when(karaokeRepository.findAvailable(1))
+        when(karaokeRepository.claimAvailable(1))
                 .thenReturn(Optional.ofNullable(Karaoke.builder().room_num(1).seats(2).booked(false).build()));
-        when(realTableRepository.findAvailable(1))
+        when(realTableRepository.claimAvailable(1))
                 .thenReturn(Optional.ofNullable(RealTable.builder().table_num(2).seats(1).booked(false).build()));
 
         assertThat(ordersApiService.createOrder(orderCreate, user))
                 .isEqualTo(expect);
     }
 
+    @Test
+    @DisplayName("Test for createOrder() method(time-slotted reservation)")
+    void testCreateOrder_Slotted() {
+        var start = LocalDateTime.parse("2024-12-12T12:12:12");
+        var end = LocalDateTime.parse("2024-12-12T14:12:12");
+        var orderCreate = OrderCreateDTO.builder()
+                .order(List.of("table"))
+                .timestamp(start)
+                .people_count(1)
+                .build();
+        var user = User.builder()
+                .name("John")
+                .email("email@gmail.com")
+                .password("1234")
+                .role(Role.ADMIN)
+                .build();
+        var expect = OrderHistoryDTO.builder()
+                .status(false)
+                .people_count(1)
+                .timestamp(start)
+                .realTableDTO(new RealTableDTO(2, 1, false))
+                .build();
+
+        when(reservationSchedule.isEnabled()).thenReturn(true);
+        when(reservationSchedule.slotEnd(start)).thenReturn(end);
+        when(reservationSchedule.claimTable(1, start, end)).thenReturn(Optional.of(2L));
+        when(realTableRepository.lockIfFree(2L, start, end))
+                .thenReturn(Optional.of(RealTable.builder().table_id(2L).table_num(2).seats(1).booked(false).build()));
+
+        assertThat(ordersApiService.createOrder(orderCreate, user))
+                .isEqualTo(expect);
+    }
+
+    @Test
+    @DisplayName("Test for createOrder() method(time-slotted, found by the database)")
+    void testCreateOrder_SlottedDatabaseFallback() {
+        var start = LocalDateTime.parse("2024-12-12T12:12:12");
+        var end = LocalDateTime.parse("2024-12-12T14:12:12");
+        var orderCreate = OrderCreateDTO.builder()
+                .order(List.of("table"))
+                .timestamp(start)
+                .people_count(1)
+                .build();
+
+        when(reservationSchedule.isEnabled()).thenReturn(true);
+        when(reservationSchedule.slotEnd(start)).thenReturn(end);
+        when(reservationSchedule.claimTable(1, start, end)).thenReturn(Optional.empty());
+        var table = RealTable.builder().table_id(3L).table_num(3).seats(2).booked(false).build();
+        when(realTableRepository.findAvailable(1, start, end)).thenReturn(Optional.of(table));
+        when(realTableRepository.lockIfFree(3L, start, end)).thenReturn(Optional.of(table));
+
+        assertThat(ordersApiService.createOrder(orderCreate, User.builder().role(Role.USER).build())
+                .getRealTableDTO().getTable_num())
+                .isEqualTo(3);
+        verify(reservationSchedule).reserveTable(3L, start, end);
+    }
+
+    @Test
+    @DisplayName("Test for createOrder() method(time-slotted, window taken by another node)")
+    void testCreateOrder_SlottedTakenElsewhere() {
+        var start = LocalDateTime.parse("2024-12-12T12:12:12");
+        var end = LocalDateTime.parse("2024-12-12T14:12:12");
+        var orderCreate = OrderCreateDTO.builder()
+                .order(List.of("table"))
+                .timestamp(start)
+                .people_count(1)
+                .build();
+        var table = RealTable.builder().table_id(3L).table_num(3).seats(2).booked(false).build();
+
+        when(reservationSchedule.isEnabled()).thenReturn(true);
+        when(reservationSchedule.slotEnd(start)).thenReturn(end);
+        when(reservationSchedule.claimTable(1, start, end)).thenReturn(Optional.of(2L));
+        when(realTableRepository.lockIfFree(2L, start, end)).thenReturn(Optional.empty());
+        when(realTableRepository.findAvailable(1, start, end)).thenReturn(Optional.of(table));
+        when(realTableRepository.lockIfFree(3L, start, end)).thenReturn(Optional.of(table));
+
+        assertThat(ordersApiService.createOrder(orderCreate, User.builder().role(Role.USER).build())
+                .getRealTableDTO().getTable_num())
+                .isEqualTo(3);
+        verify(reservationSchedule, never()).releaseTable(2L, start); // stays blocked in the index
+    }
+
+    @Test
+    @DisplayName("Test for createOrder() method(time-slotted, database answer taken meanwhile)")
+    void testCreateOrder_SlottedFallbackRace() {
+        var start = LocalDateTime.parse("2024-12-12T12:12:12");
+        var end = LocalDateTime.parse("2024-12-12T14:12:12");
+        var orderCreate = OrderCreateDTO.builder()
+                .order(List.of("table"))
+                .timestamp(start)
+                .people_count(1)
+                .build();
+
+        when(reservationSchedule.isEnabled()).thenReturn(true);
+        when(reservationSchedule.slotEnd(start)).thenReturn(end);
+        when(reservationSchedule.claimTable(1, start, end)).thenReturn(Optional.empty());
+        when(realTableRepository.findAvailable(1, start, end))
+                .thenReturn(Optional.of(RealTable.builder().table_id(3L).table_num(3).seats(2).booked(false).build()));
+        when(realTableRepository.lockIfFree(3L, start, end)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ordersApiService.createOrder(orderCreate, User.builder().role(Role.USER).build()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(reservationSchedule, never()).reserveTable(anyLong(), any(), any());
+    }
+
     @Test
     @DisplayName("Test for createOrder() method(no free seats)")
     void testCreateOrder_NoFreeSeats() {
@@ -142,6 +305,7 @@ public class OrdersApiServiceTest {
         assertThatThrownBy(() -> ordersApiService.createOrder(orderCreate, user))
                 .isInstanceOf(CreateOrderException.class)
                 .hasMessage("There are no free karaoke seats!");
+        verify(bookingMetrics).allocationFailed("karaoke");
     }
 
     @Test
@@ -165,6 +329,77 @@ public class OrdersApiServiceTest {
                         " the same option was selected twice!");
     }
 
+    @Test
+    @DisplayName("Test for createOrders() method(one entry cannot be served)")
+    void testCreateOrders() {
+        var fits = OrderCreateDTO.builder()
+                .order(List.of("karaoke"))
+                .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                .people_count(1)
+                .build();
+        var tooBig = OrderCreateDTO.builder()
+                .order(List.of("karaoke", "table"))
+                .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                .people_count(3)
+                .build();
+        var room = Karaoke.builder().karaoke_id(2L).room_num(2).seats(3).booked(false).build();
+
+        when(karaokeRepository.claimAvailable(1))
+                .thenReturn(Optional.of(Karaoke.builder().karaoke_id(1L).room_num(1).seats(2).booked(false).build()));
+        when(karaokeRepository.claimAvailable(3)).thenReturn(Optional.of(room));
+
+        assertThat(ordersApiService.createOrders(List.of(fits, tooBig), null))
+                .containsExactly(
+                        OrderBatchResultDTO.builder()
+                                .index(0)
+                                .order(OrderHistoryDTO.builder()
+                                        .status(false)
+                                        .people_count(1)
+                                        .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                                        .karaokeDTO(new KaraokeDTO(1, 2, true))
+                                        .build())
+                                .build(),
+                        OrderBatchResultDTO.builder()
+                                .index(1)
+                                .error("There are no free table seats!")
+                                .build());
+        assertThat(room.getBooked()).isFalse(); // claimed for the second entry, then given back
+        verify(seatInventory).releaseKaraoke(room);
+        verify(orderRepository).saveAll(List.of(Order.builder()
+                .status(false)
+                .people_count(1)
+                .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                .karaoke(Karaoke.builder().karaoke_id(1L).room_num(1).seats(2).booked(true).build())
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Test for createOrders() method(seats claimed from the index)")
+    void testCreateOrders_Indexed() {
+        var timestamp = LocalDateTime.parse("2024-12-12T12:12:12");
+        var entry = OrderCreateDTO.builder()
+                .order(List.of("karaoke"))
+                .timestamp(timestamp)
+                .people_count(2)
+                .build();
+        var first = Karaoke.builder().karaoke_id(1L).room_num(1).seats(2).booked(false).build();
+        var second = Karaoke.builder().karaoke_id(2L).room_num(2).seats(2).booked(false).build();
+        var stale = Karaoke.builder().karaoke_id(3L).room_num(3).seats(2).booked(true).build();
+        var fallback = Karaoke.builder().karaoke_id(4L).room_num(4).seats(2).booked(false).build();
+
+        when(seatInventory.pollKaraoke(2)).thenReturn(Optional.of(1L), Optional.of(2L), Optional.of(3L));
+        when(karaokeRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(first, second, stale));
+        when(karaokeRepository.claimAvailable(2)).thenReturn(Optional.of(fallback));
+
+        assertThat(ordersApiService.createOrders(List.of(entry, entry, entry), null))
+                .extracting(x -> x.getOrder().getKaraokeDTO().getRoom_num())
+                .containsExactly(1, 2, 4);
+        assertThat(List.of(first, second, fallback)).allMatch(Karaoke::getBooked);
+        verify(karaokeRepository, never()).findById(any());
+        verify(karaokeRepository).saveAll(List.of(first, second, fallback));
+        verify(orderRepository).saveAll(any());
+    }
+
     @Test
     @DisplayName("Test for getOrdersToConfirm() method")
     void testGetOrdersToConfirm() {
@@ -177,7 +412,7 @@ public class OrdersApiServiceTest {
                 .table(new RealTableDTO(2, 1, true))
                 .build();
 
-        when(orderRepository.ordersToConfirm())
+        when(orderRepository.findPending(PageRequest.of(0, 50)))
                 .thenReturn(List.of(Order.builder()
                         .order_id(1L)
                         .status(false)
@@ -187,7 +422,7 @@ public class OrdersApiServiceTest {
                         .realTable(RealTable.builder().table_num(2).seats(1).booked(true).build())
                         .build()));
 
-        assertThat(ordersApiService.getOrdersToConfirm())
+        assertThat(ordersApiService.getOrdersToConfirm(null, null, 50))
                 .hasOnlyElementsOfType(OrderDTO.class)
                 .hasSize(1)
                 .contains(expect, Index.atIndex(0));
@@ -208,8 +443,10 @@ public class OrdersApiServiceTest {
                         .realTable(RealTable.builder().table_num(2).seats(1).booked(true).build())
                         .build()));
 
+        String eTag = changeTracker.ordersETag();
         assertThat(ordersApiService.confirmOrder(1L))
                 .isEqualTo(expect);
+        assertThat(changeTracker.ordersETag()).isNotEqualTo(eTag);
     }
 
     @Test
@@ -240,14 +477,68 @@ public class OrdersApiServiceTest {
                 .isEqualTo(expect);
     }
 
+    @Test
+    @DisplayName("Test for confirmOrders() method")
+    void testConfirmOrders() {
+        var expect = OrderConfirmResultDTO.builder()
+                .confirmed(List.of(3L, 1L))
+                .already_confirmed(List.of(2L))
+                .missing(List.of(7L))
+                .build();
+
+        when(orderRepository.findStatuses(Set.of(3L, 1L, 2L, 7L)))
+                .thenReturn(List.of(orderStatus(1L, false), orderStatus(2L, true), orderStatus(3L, false)));
+        when(orderRepository.confirmAll(List.of(3L, 1L))).thenReturn(2);
+
+        assertThat(ordersApiService.confirmOrders(List.of(3L, 1L, 2L, 7L, 3L)))
+                .isEqualTo(expect);
+    }
+
+    @Test
+    @DisplayName("Test for confirmOrders() method(confirmed concurrently)")
+    void testConfirmOrders_Concurrent() {
+        when(orderRepository.findStatuses(Set.of(1L, 2L)))
+                .thenReturn(List.of(orderStatus(1L, false), orderStatus(2L, false)));
+        when(orderRepository.confirmAll(List.of(1L, 2L))).thenReturn(1);
+
+        assertThatThrownBy(() -> ordersApiService.confirmOrders(List.of(1L, 2L)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private static OrderRepository.OrderStatus orderStatus(Long id, Boolean status) {
+        return new OrderRepository.OrderStatus() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Boolean getStatus() {
+                return status;
+            }
+        };
+    }
+
     @Test
     @DisplayName("Test for getOrdersToConfirm() method(no orders to confirm)")
     void testGetOrdersToConfirm_NoOrdersToConfirm() {
-        assertThatThrownBy(() -> ordersApiService.getOrdersToConfirm())
+        assertThatThrownBy(() -> ordersApiService.getOrdersToConfirm(null, null, 50))
                 .isInstanceOf(GetOrdersException.class)
                 .hasMessage("No order needs confirmation!");
     }
 
+    @Test
+    @DisplayName("Test for getOrdersToConfirm() method(past the last page)")
+    void testGetOrdersToConfirm_PastLastPage() {
+        when(orderRepository.findPendingAfter(LocalDateTime.parse("2024-12-12T12:12:12"), 5L, PageRequest.of(0, 200)))
+                .thenReturn(List.of());
+        when(orderRepository.existsByStatus(false))
+                .thenReturn(true);
+
+        assertThat(ordersApiService.getOrdersToConfirm(LocalDateTime.parse("2024-12-12T12:12:12"), 5L, 1000))
+                .isEmpty();
+    }
+
     @Test
     @DisplayName("Test for getOrders() method")
     void testGetOrders() {
@@ -260,7 +551,7 @@ public class OrdersApiServiceTest {
                 .table(new RealTableDTO(2, 1, true))
                 .build();
 
-        when(orderRepository.ordersToConfirm())
+        when(orderRepository.findPending(PageRequest.of(0, 50)))
                 .thenReturn(List.of(Order.builder()
                         .order_id(1L)
                         .status(true)
@@ -270,16 +561,48 @@ public class OrdersApiServiceTest {
                         .realTable(RealTable.builder().table_num(2).seats(1).booked(true).build())
                         .build()));
 
-        assertThat(ordersApiService.getOrdersToConfirm())
+        assertThat(ordersApiService.getOrdersToConfirm(null, null, 50))
                 .hasOnlyElementsOfType(OrderDTO.class)
                 .hasSize(1)
                 .contains(expect, Index.atIndex(0));
     }
 
+    @Test
+    @DisplayName("Test for getOrders() method(keyset page)")
+    void testGetOrders_Page() {
+        var filter = OrdersFilterDTO.builder().after(1L).limit(1000).status(true).build();
+        var expect = OrderDTO.builder()
+                .id(2L)
+                .status(true)
+                .people_count(1)
+                .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                .build();
+
+        when(orderRepository.findPage(1L, true, null, null, PageRequest.of(0, 200)))
+                .thenReturn(List.of(Order.builder()
+                        .order_id(2L)
+                        .status(true)
+                        .people_count(1)
+                        .timestamp(LocalDateTime.parse("2024-12-12T12:12:12"))
+                        .build()));
+
+        assertThat(ordersApiService.getOrders(filter))
+                .containsExactly(expect);
+    }
+
+    @Test
+    @DisplayName("Test for getOrders() method(past the last page)")
+    void testGetOrders_PastLastPage() {
+        var filter = OrdersFilterDTO.builder().after(2L).build();
+
+        assertThat(ordersApiService.getOrders(filter))
+                .isEmpty();
+    }
+
     @Test
     @DisplayName("Test for getOrders() method(no orders)")
     void testGetOrders_NoOrders() {
-        assertThatThrownBy(() -> ordersApiService.getOrders())
+        assertThatThrownBy(() -> ordersApiService.getOrders(new OrdersFilterDTO()))
                 .isInstanceOf(GetOrdersException.class)
                 .hasMessage("No orders!");
     }
@@ -289,7 +612,7 @@ public class OrdersApiServiceTest {
     void testCancelOrder() {
         var expect = new ResponseEntity<>("Order canceled", HttpStatus.OK);
 
-        when(orderRepository.findById(1L))
+        when(orderRepository.findWithResourcesById(1L))
                 .thenReturn(Optional.ofNullable(Order.builder()
                         .order_id(1L)
                         .status(false)
@@ -311,4 +634,98 @@ public class OrdersApiServiceTest {
         assertThat(ordersApiService.cancelOrder(1L))
                 .isEqualTo(expect);
     }
+
+    @Test
+    @DisplayName("Test for cancelOrders() method(by IDs)")
+    void testCancelOrders() {
+        var start = LocalDateTime.parse("2024-12-12T18:00:00");
+        var selection = OrderCancelDTO.builder().ids(List.of(1L, 2L, 9L)).build();
+        var expect = OrderCancelResultDTO.builder()
+                .canceled(List.of(1L, 2L))
+                .missing(List.of(9L))
+                .build();
+
+        when(orderRepository.findResources(Set.of(1L, 2L, 9L)))
+                .thenReturn(List.of(orderResources(1L, start, null, 3L, 4, null, null),
+                        orderResources(2L, start, start.plusHours(2), null, null, 5L, 6)));
+        when(orderRepository.deleteAllByIds(List.of(1L, 2L))).thenReturn(2);
+
+        assertThat(ordersApiService.cancelOrders(selection))
+                .isEqualTo(expect);
+        verify(karaokeRepository).releaseForOrders(List.of(1L, 2L));
+        verify(realTableRepository).releaseForOrders(List.of(1L, 2L));
+        verify(seatInventory).releaseKaraoke(3L, 4);
+        verify(reservationSchedule).releaseTable(5L, start);
+    }
+
+    @Test
+    @DisplayName("Test for cancelOrders() method(by time range, nothing found)")
+    void testCancelOrders_EmptyRange() {
+        var from = LocalDateTime.parse("2024-12-12T00:00:00");
+        var selection = OrderCancelDTO.builder().from(from).to(from.plusDays(1)).build();
+
+        assertThat(ordersApiService.cancelOrders(selection))
+                .isEqualTo(OrderCancelResultDTO.builder().canceled(List.of()).missing(List.of()).build());
+        verify(orderRepository, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    @DisplayName("Test for cancelOrders() method(by time range, too many orders)")
+    void testCancelOrders_RangeTooLarge() {
+        var from = LocalDateTime.parse("2024-12-12T00:00:00");
+        var selection = OrderCancelDTO.builder().from(from).to(from.plusDays(1)).build();
+        var orders = LongStream.rangeClosed(1, OrdersApiService.MAX_CANCEL_SIZE + 1)
+                .mapToObj(x -> orderResources(x, from, null, x, 2, null, null))
+                .toList();
+
+        when(orderRepository.findResourcesBetween(from, from.plusDays(1),
+                PageRequest.of(0, OrdersApiService.MAX_CANCEL_SIZE + 1)))
+                .thenReturn(orders);
+
+        assertThatThrownBy(() -> ordersApiService.cancelOrders(selection))
+                .isInstanceOf(CancelOrdersException.class);
+        verify(orderRepository, never()).deleteAllByIds(any());
+        verify(karaokeRepository, never()).releaseForOrders(any());
+    }
+
+    private static OrderRepository.OrderResources orderResources(Long id, LocalDateTime startsAt, LocalDateTime endsAt,
+                                                                 Long karaokeId, Integer karaokeSeats,
+                                                                 Long tableId, Integer tableSeats) {
+        return new OrderRepository.OrderResources() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStartsAt() {
+                return startsAt;
+            }
+
+            @Override
+            public LocalDateTime getEndsAt() {
+                return endsAt;
+            }
+
+            @Override
+            public Long getKaraokeId() {
+                return karaokeId;
+            }
+
+            @Override
+            public Integer getKaraokeSeats() {
+                return karaokeSeats;
+            }
+
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Integer getTableSeats() {
+                return tableSeats;
+            }
+        };
+    }
 }
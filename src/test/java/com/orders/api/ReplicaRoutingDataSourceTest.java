@@ -0,0 +1,96 @@
+package com.orders.api;
+
+import com.orders.api.configuration.datasource.ReplicaRoutingDataSource;
+import com.orders.api.configuration.datasource.StaleReads;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReplicaRoutingDataSourceTest {
+    @Mock
+    DataSource primary;
+    @Mock
+    DataSource replica;
+    @Mock
+    Connection primaryConnection;
+    @Mock
+    Connection replicaConnection;
+
+    DataSource dataSource;
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(primaryConnection.getAutoCommit()).thenReturn(true);
+        dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StaleReads.clear();
+    }
+
+    @Test
+    @DisplayName("Test for ReplicaRoutingDataSource(read-only, stale reads allowed)")
+    void testReadOnly_StaleReadsAllowed() throws SQLException {
+        StaleReads.allow();
+        runInTransaction(true);
+
+        verify(replicaConnection).createStatement();
+        verify(primaryConnection, never()).createStatement();
+    }
+
+    @Test
+    @DisplayName("Test for ReplicaRoutingDataSource(read-only, endpoint needs fresh data)")
+    void testReadOnly_StaleReadsNotAllowed() throws SQLException {
+        runInTransaction(true);
+
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Test for ReplicaRoutingDataSource(read-write)")
+    void testReadWrite() throws SQLException {
+        StaleReads.allow();
+        runInTransaction(false);
+
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+    }
+
+    private void runInTransaction(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
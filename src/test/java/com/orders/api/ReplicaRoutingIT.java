@@ -0,0 +1,113 @@
+package com.orders.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the routing against two in-memory H2 databases. Nothing replicates between them, so a
+ * row that exists only in the replica shows where a read went.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"orders.datasource.replica.jdbc-url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"orders.datasource.replica.username=sa",
+		"orders.datasource.replica.stale-tolerant=GET /users, GET /orders/variants",
+		"orders.security.user-cache.ttl=0s",
+		"orders.security.user-cache.negative-ttl=0s"})
+@AutoConfigureMockMvc
+@Sql(statements = "MERGE INTO user(user_id, name, email, password, role) KEY(user_id) " +
+		"VALUES (1, 'John', 'email@gmail.com', '$2a$10$Hzdg8upvCxY8wqZAyq79Ou1szV6sS6Xy55GmDyOqgz8ZKbMsklZ1C', 2)")
+@Sql(config = @SqlConfig(dataSource = "replicaDataSource", transactionMode = SqlConfig.TransactionMode.ISOLATED),
+		statements = {"CREATE TABLE IF NOT EXISTS user(user_id BIGINT PRIMARY KEY, name VARCHAR(255), " +
+				"email VARCHAR(255), password VARCHAR(255), role TINYINT)",
+				"MERGE INTO user(user_id, name, email, password, role) KEY(user_id) " +
+						"VALUES (7, 'Replica', 'replica@gmail.com', '1234', 0)",
+				"CREATE TABLE IF NOT EXISTS karaoke(karaoke_id BIGINT PRIMARY KEY, room_num INT, seats INT, " +
+						"booked BOOLEAN, version BIGINT DEFAULT 0 NOT NULL)",
+				"CREATE TABLE IF NOT EXISTS realtable(table_id BIGINT PRIMARY KEY, table_num INT, seats INT, " +
+						"booked BOOLEAN, version BIGINT DEFAULT 0 NOT NULL)",
+				"MERGE INTO karaoke(karaoke_id, room_num, seats, booked) KEY(karaoke_id) VALUES (42, 42, 8, false)"})
+class ReplicaRoutingIT {
+	@Autowired
+	MockMvc mockMvc;
+	@Autowired
+	@Qualifier("replicaDataSource")
+	DataSource replicaDataSource;
+
+	final RequestPostProcessor postProcessor = SecurityMockMvcRequestPostProcessors
+			.httpBasic("email@gmail.com", "1234");
+
+	@Test
+	@DisplayName("Test for GET /users(stale-tolerant, read from the replica)")
+	void testGetUsersEndpoint_ReadsReplica() throws Exception {
+		// authentication itself must have found the admin, who only exists on the primary
+		mockMvc.perform(get("/users").with(postProcessor))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].email", contains("replica@gmail.com")));
+	}
+
+	@Test
+	@DisplayName("Test for GET /orders/variants(replica reads are neither cached nor tagged)")
+	void testGetOrderVariantsEndpoint_ReadsReplica() throws Exception {
+		mockMvc.perform(get("/orders/variants"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("ETag"))
+				.andExpect(jsonPath("$.karaokeDTOS[*].booked", contains(false)));
+
+		// the replica catches up without any change committed on this node
+		new JdbcTemplate(replicaDataSource).update("UPDATE karaoke SET booked = true WHERE karaoke_id = 42");
+		try {
+			mockMvc.perform(get("/orders/variants"))
+					.andExpect(status().isOk())
+					.andExpect(header().doesNotExist("ETag"))
+					.andExpect(jsonPath("$.karaokeDTOS[*].booked", contains(true)));
+		} finally {
+			new JdbcTemplate(replicaDataSource).update("UPDATE karaoke SET booked = false WHERE karaoke_id = 42");
+		}
+	}
+
+	@Test
+	@DisplayName("Test for POST /register(writes go to the primary)")
+	void testRegisterEndpoint_WritesPrimary() throws Exception {
+		mockMvc.perform(post("/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+                        {
+                        "name":"John",
+                        "email":"new@gmail.com",
+                        "password":"1234",
+                        "role":"USER"
+                        }"""))
+				.andExpect(status().isOk());
+
+		// the new user can log in (primary) but is not in the lagging listing (replica)
+		mockMvc.perform(get("/check/authorities").with(SecurityMockMvcRequestPostProcessors.httpBasic("new@gmail.com", "1234")))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/users").with(postProcessor))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].email", contains("replica@gmail.com")));
+	}
+}
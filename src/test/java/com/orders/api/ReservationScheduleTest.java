@@ -0,0 +1,128 @@
+package com.orders.api;
+
+import com.orders.api.model.Order;
+import com.orders.api.model.RealTable;
+import com.orders.api.repository.KaraokeRepository;
+import com.orders.api.repository.OrderRepository;
+import com.orders.api.repository.RealTableRepository;
+import com.orders.api.service.ReservationSchedule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationScheduleTest {
+    @Mock
+    KaraokeRepository karaokeRepository;
+    @Mock
+    RealTableRepository realTableRepository;
+    @Mock
+    OrderRepository orderRepository;
+
+    ReservationSchedule reservationSchedule;
+
+    final LocalDateTime evening = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0).withSecond(0).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        reservationSchedule = new ReservationSchedule(karaokeRepository, realTableRepository, orderRepository,
+                Duration.ofHours(2));
+    }
+
+    @Test
+    @DisplayName("Test for claimTable() with overlapping and adjacent slots")
+    void testClaimTable_Slots() {
+        var table = RealTable.builder().table_id(1L).table_num(1).seats(4).booked(false).build();
+
+        when(realTableRepository.findAll()).thenReturn(List.of(table));
+        when(orderRepository.findSlotsEndingAfter(any())).thenReturn(List.of(Order.builder()
+                .timestamp(evening)
+                .end_time(evening.plusHours(2))
+                .realTable(table)
+                .build()));
+        reservationSchedule.load();
+
+        assertThat(reservationSchedule.claimTable(2, evening.plusHours(1), evening.plusHours(3))).isEmpty();
+        assertThat(reservationSchedule.claimTable(2, evening.minusHours(1), evening.plusHours(1))).isEmpty();
+        assertThat(reservationSchedule.claimTable(2, evening.plusHours(2), evening.plusHours(4))).contains(1L);
+        assertThat(reservationSchedule.claimTable(2, evening.minusHours(2), evening)).contains(1L);
+        assertThat(reservationSchedule.claimTable(5, evening.plusDays(1), evening.plusDays(1).plusHours(2)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test for claimTable() with a fully booked seat class")
+    void testClaimTable_FullClass() {
+        List<RealTable> tables = LongStream.rangeClosed(1, 1000)
+                .mapToObj(x -> RealTable.builder().table_id(x).table_num((int) x).seats(x <= 999 ? 4 : 8).booked(false).build())
+                .toList();
+
+        when(realTableRepository.findAll()).thenReturn(tables);
+        reservationSchedule.load();
+
+        for (long id = 1; id <= 999; id++) {
+            assertThat(reservationSchedule.claimTable(4, evening, evening.plusHours(2))).contains(id);
+        }
+        assertThat(reservationSchedule.claimTable(4, evening, evening.plusHours(2))).contains(1000L);
+        assertThat(reservationSchedule.claimTable(4, evening, evening.plusHours(2))).isEmpty();
+        // a window half inside the booked one still collides, the next one is free again
+        assertThat(reservationSchedule.claimTable(4, evening.plusHours(1), evening.plusHours(3))).isEmpty();
+        assertThat(reservationSchedule.claimTable(4, evening.plusHours(2), evening.plusHours(4))).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Test for reserveTable() with a window found by the database")
+    void testReserveTable() {
+        var table = RealTable.builder().table_id(1L).table_num(1).seats(4).booked(false).build();
+
+        when(realTableRepository.findAll()).thenReturn(List.of(table));
+        reservationSchedule.load();
+
+        reservationSchedule.reserveTable(1L, evening, evening.plusHours(2));
+        assertThat(reservationSchedule.claimTable(2, evening.plusMinutes(30), evening.plusMinutes(150))).isEmpty();
+        reservationSchedule.releaseTable(1L, evening);
+        assertThat(reservationSchedule.claimTable(2, evening.plusMinutes(30), evening.plusMinutes(150))).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Test for claimTable() evicting reservations that have ended")
+    void testClaimTable_EvictsPast() {
+        var table = RealTable.builder().table_id(1L).table_num(1).seats(4).booked(false).build();
+        var past = LocalDateTime.now().minusDays(2);
+
+        when(realTableRepository.findAll()).thenReturn(List.of(table));
+        reservationSchedule.load();
+
+        reservationSchedule.reserveTable(1L, past, past.plusHours(2));
+        // the claim drops what ended before the previous bucket, so the old window no longer blocks
+        assertThat(reservationSchedule.claimTable(2, past, past.plusHours(2))).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Test for releaseTable() outside of a transaction")
+    void testReleaseTable() {
+        var small = RealTable.builder().table_id(1L).table_num(1).seats(2).booked(false).build();
+        var large = RealTable.builder().table_id(2L).table_num(2).seats(6).booked(false).build();
+
+        when(realTableRepository.findAll()).thenReturn(List.of(small, large));
+        reservationSchedule.load();
+
+        assertThat(reservationSchedule.claimTable(2, evening, evening.plusHours(2))).contains(1L);
+        assertThat(reservationSchedule.claimTable(2, evening, evening.plusHours(2))).contains(2L);
+        reservationSchedule.releaseTable(1L, evening);
+        assertThat(reservationSchedule.claimTable(2, evening, evening.plusHours(2))).contains(1L);
+    }
+}
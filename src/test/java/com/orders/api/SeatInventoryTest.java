@@ -0,0 +1,122 @@
+package com.orders.api;
+
+import com.orders.api.model.Karaoke;
+import com.orders.api.model.RealTable;
+import com.orders.api.repository.KaraokeRepository;
+import com.orders.api.repository.RealTableRepository;
+import com.orders.api.service.SeatInventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatInventoryTest {
+    @Mock
+    KaraokeRepository karaokeRepository;
+    @Mock
+    RealTableRepository realTableRepository;
+
+    @InjectMocks
+    SeatInventory seatInventory;
+
+    @Test
+    @DisplayName("Test for claimTable() before the inventory is loaded")
+    void testClaimTable_NotLoaded() {
+        assertThat(seatInventory.claimTable(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test for claimTable() best fit")
+    void testClaimTable_BestFit() {
+        var small = RealTable.builder().table_id(2L).table_num(2).seats(2).booked(false).build();
+        var fitting = RealTable.builder().table_id(4L).table_num(4).seats(5).booked(false).build();
+        var large = RealTable.builder().table_id(3L).table_num(3).seats(9).booked(false).build();
+
+        when(realTableRepository.findAll()).thenReturn(List.of(small, large, fitting));
+        when(realTableRepository.markBooked(4L)).thenReturn(1);
+        when(realTableRepository.findById(4L)).thenReturn(Optional.of(fitting));
+        seatInventory.load();
+
+        assertThat(seatInventory.claimTable(4))
+                .isPresent()
+                .get()
+                .isEqualTo(fitting);
+    }
+
+    @Test
+    @DisplayName("Test for claimKaraoke() when the room was booked outside the inventory")
+    void testClaimKaraoke_BookedElsewhere() {
+        var stale = Karaoke.builder().karaoke_id(1L).room_num(1).seats(2).booked(false).build();
+        var free = Karaoke.builder().karaoke_id(2L).room_num(2).seats(3).booked(false).build();
+
+        when(karaokeRepository.findAll()).thenReturn(List.of(stale, free));
+        when(karaokeRepository.markBooked(1L)).thenReturn(0);
+        when(karaokeRepository.markBooked(2L)).thenReturn(1);
+        when(karaokeRepository.findById(2L)).thenReturn(Optional.of(free));
+        seatInventory.load();
+
+        assertThat(seatInventory.claimKaraoke(1))
+                .isPresent()
+                .get()
+                .isEqualTo(free);
+        assertThat(seatInventory.claimKaraoke(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test for pollKaraoke() method")
+    void testPollKaraoke() {
+        when(karaokeRepository.findAll()).thenReturn(List.of(
+                Karaoke.builder().karaoke_id(1L).room_num(1).seats(2).booked(false).build(),
+                Karaoke.builder().karaoke_id(2L).room_num(2).seats(4).booked(false).build()));
+        seatInventory.load();
+
+        assertThat(seatInventory.pollKaraoke(3)).contains(2L);
+        assertThat(seatInventory.pollKaraoke(3)).isEmpty();
+        assertThat(seatInventory.pollKaraoke(1)).contains(1L);
+        verify(karaokeRepository, never()).markBooked(anyLong()); // no database round trip per claim
+        verify(karaokeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Test for claimTable() under concurrent bookings")
+    void testClaimTable_Concurrent() throws InterruptedException {
+        List<RealTable> tables = LongStream.rangeClosed(1, 200)
+                .mapToObj(id -> RealTable.builder().table_id(id).table_num((int) id).seats(4).booked(false).build())
+                .toList();
+
+        when(realTableRepository.findAll()).thenReturn(tables);
+        when(realTableRepository.markBooked(anyLong())).thenReturn(1);
+        when(realTableRepository.findById(anyLong()))
+                .thenAnswer(x -> Optional.of(tables.get(x.getArgument(0, Long.class).intValue() - 1)));
+        seatInventory.load();
+
+        Set<RealTable> claimed = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 250; i++) {
+            executor.submit(() -> seatInventory.claimTable(2).ifPresent(claimed::add));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(claimed).hasSize(200);
+    }
+}
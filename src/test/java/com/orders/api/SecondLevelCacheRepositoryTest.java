@@ -0,0 +1,93 @@
+package com.orders.api;
+
+import com.orders.api.model.Karaoke;
+import com.orders.api.repository.KaraokeRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("l2cache")
+@TestPropertySource(locations = {"classpath:testApp.properties"})
+public class SecondLevelCacheRepositoryTest {
+    @Autowired
+    KaraokeRepository karaokeRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Test for findById() method in KaraokeRepository(served by the second-level cache)")
+    void findByIdTest_KaraokeRepository() {
+        karaokeRepository.findById(1L);
+        entityManager.clear();
+        karaokeRepository.findById(1L);
+
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test for findAll() method in KaraokeRepository(query cache)")
+    void findAllTest_KaraokeRepository() {
+        karaokeRepository.findAll();
+        entityManager.clear();
+        karaokeRepository.findAll();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test for markBooked() method in KaraokeRepository(evicts cached rooms and queries)")
+    void markBookedTest_KaraokeRepository() {
+        karaokeRepository.findAll();
+        entityManager.clear();
+
+        karaokeRepository.markBooked(1L);
+        entityManager.clear();
+
+        assertThat(karaokeRepository.findById(1L)).get().extracting(Karaoke::getBooked).isEqualTo(true);
+        assertThat(karaokeRepository.findAll()).filteredOn(Karaoke::getBooked).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test for save() method in KaraokeRepository(cached room updated in place)")
+    void saveTest_KaraokeRepository() {
+        Karaoke karaoke = karaokeRepository.findById(2L).orElseThrow();
+        karaoke.setBooked(true);
+        karaokeRepository.save(karaoke);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(karaokeRepository.findById(2L)).get().extracting(Karaoke::getBooked).isEqualTo(true);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,76 @@
+package com.orders.api;
+
+import com.orders.api.configuration.sql.SqlBudgetExceededException;
+import com.orders.api.configuration.sql.SqlBudgetFilter;
+import com.orders.api.configuration.sql.SqlBudgetProperties;
+import com.orders.api.configuration.sql.SqlStatementCounter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SqlBudgetFilterTest {
+    final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    @DisplayName("Test for SqlBudgetFilter(headers within budget)")
+    void testWithinBudget() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request(), response, handler(2));
+
+        assertThat(response.getHeader(SqlBudgetFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(SqlBudgetFilter.TIME_HEADER)).isNotNull();
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Test for SqlBudgetFilter(over budget, strict)")
+    void testOverBudget_Strict() {
+        assertThatThrownBy(() -> filter(true).doFilter(request(), new MockHttpServletResponse(), handler(3)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessage("GET /orders ran 3 SQL statements, budget is 2");
+    }
+
+    @Test
+    @DisplayName("Test for SqlBudgetFilter(over budget, lenient)")
+    void testOverBudget_Lenient() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request(), response, handler(3));
+
+        assertThat(response.getHeader(SqlBudgetFilter.STATEMENTS_HEADER)).isEqualTo("3");
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1"); // not counted outside a request
+    }
+
+    private SqlBudgetFilter filter(boolean strict) {
+        var properties = new SqlBudgetProperties();
+        properties.setEnabled(true);
+        properties.setStrict(strict);
+        properties.setLimits(Map.of("GET /orders", 2));
+        return new SqlBudgetFilter(properties);
+    }
+
+    private static MockHttpServletRequest request() {
+        var request = new MockHttpServletRequest("GET", "/orders");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/orders");
+        return request;
+    }
+
+    private FilterChain handler(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                inspector.inspect("select o1_0.order_id from orders o1_0");
+            }
+            response.getWriter().write("[]");
+        };
+    }
+}
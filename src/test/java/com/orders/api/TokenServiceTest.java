@@ -0,0 +1,53 @@
+package com.orders.api;
+
+import com.orders.api.configuration.security.Role;
+import com.orders.api.configuration.security.TokenService;
+import com.orders.api.configuration.security.UserAdapter;
+import com.orders.api.model.User;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenServiceTest {
+    final User user = User.builder()
+            .user_id(1L)
+            .email("email@gmail.com")
+            .password("1234")
+            .role(Role.ADMIN)
+            .build();
+
+    @Test
+    @DisplayName("Test for verify() method")
+    void testVerify() {
+        var tokenService = new TokenService("", Duration.ofMinutes(15));
+
+        assertThat(tokenService.verify(tokenService.issue(user)))
+                .isPresent()
+                .get()
+                .extracting(UserAdapter::getUser)
+                .isEqualTo(User.builder().user_id(1L).email("email@gmail.com").role(Role.ADMIN).build());
+    }
+
+    @Test
+    @DisplayName("Test for verify() method(tampered or foreign token)")
+    void testVerify_Tampered() {
+        var tokenService = new TokenService("", Duration.ofMinutes(15));
+        String token = tokenService.issue(user);
+
+        assertThat(tokenService.verify("x" + token)).isEmpty();
+        assertThat(tokenService.verify(token.replace('.', '!'))).isEmpty();
+        assertThat(new TokenService("", Duration.ofMinutes(15)).verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test for verify() method(expired token)")
+    void testVerify_Expired() {
+        var tokenService = new TokenService("", Duration.ofSeconds(-1));
+
+        assertThat(tokenService.verify(tokenService.issue(user))).isEmpty();
+    }
+}
@@ -4,6 +4,7 @@ import com.orders.api.configuration.security.UserAdapter;
 import com.orders.api.dto.request.RegistrationRequest;
 import com.orders.api.model.User;
 import com.orders.api.repository.UserRepository;
+import com.orders.api.service.UserDetailsCache;
 import com.orders.api.service.UserDetailsServiceImp;
 
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +32,8 @@ public class UserDetailsServiceTest {
     UserRepository userRepository;
     @Mock
     PasswordEncoder passwordEncoder;
+    @Spy
+    UserDetailsCache userDetailsCache = new UserDetailsCache(Duration.ofMinutes(1), Duration.ofSeconds(5), 100);
 
     @InjectMocks
     UserDetailsServiceImp userDetailsService;
@@ -112,4 +117,36 @@ public class UserDetailsServiceTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessage("Not found!");
     }
+
+    @Test
+    @DisplayName("Test for authentication, user cached")
+    void testAuthentication_Cached() {
+        String email = "email@gmail.com";
+        User user = User.builder().email(email).build();
+
+        when(userRepository.findUserByEmail(email))
+                .thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername(email);
+        assertThat(userDetailsService.loadUserByUsername(email)).isEqualTo(new UserAdapter(user));
+        verify(userRepository, times(1)).findUserByEmail(email);
+    }
+
+    @Test
+    @DisplayName("Test for authentication, unknown user remembered until registration")
+    void testAuthentication_NoUserCached() {
+        String email = "email@gmail.com";
+
+        when(userRepository.findUserByEmail(email))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(1)).findUserByEmail(email);
+
+        userDetailsService.register(new RegistrationRequest("name", email, "1234", "USER"));
+        assertThat(userDetailsCache.isUnknown(email)).isFalse();
+    }
 }